@@ -0,0 +1,35 @@
+package com.rogers.accountmanager.config;
+
+import com.rogers.accountmanager.repository.AccountIdBlockRepository;
+import com.rogers.accountmanager.service.AccountIdGenerator;
+import com.rogers.accountmanager.service.BlockAccountIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Generator of the ids of new accounts, from blocks reserved in the {@code account_id_block} table so that several nodes
+ * never hand out the same id.
+ */
+@Configuration
+public class AccountIdConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(AccountIdConfiguration.class);
+
+    @Bean
+    @ConditionalOnMissingBean(AccountIdGenerator.class)
+    public AccountIdGenerator accountIdGenerator(
+        AccountIdBlockRepository accountIdBlockRepository,
+        ApplicationProperties applicationProperties
+    ) {
+        ApplicationProperties.AccountIds accountIds = applicationProperties.getAccountIds();
+        log.debug("Creating account id generator with blocks of {} ids", accountIds.getBlockSize());
+        return new BlockAccountIdGenerator(
+            size -> accountIdBlockRepository.reserve(AccountIdBlockRepository.ACCOUNTS_INFO, size),
+            accountIds.getBlockSize(),
+            accountIds.getStripeSize()
+        );
+    }
+}
@@ -9,4 +9,494 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Geocoding geocoding = new Geocoding();
+
+    private final RegionCounters regionCounters = new RegionCounters();
+
+    private final Pagination pagination = new Pagination();
+
+    private final AccountsCache accountsCache = new AccountsCache();
+
+    private final Replica replica = new Replica();
+
+    private final AccountIds accountIds = new AccountIds();
+
+    private final Purge purge = new Purge();
+
+    public Geocoding getGeocoding() {
+        return geocoding;
+    }
+
+    public RegionCounters getRegionCounters() {
+        return regionCounters;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public AccountsCache getAccountsCache() {
+        return accountsCache;
+    }
+
+    public Replica getReplica() {
+        return replica;
+    }
+
+    public AccountIds getAccountIds() {
+        return accountIds;
+    }
+
+    public Purge getPurge() {
+        return purge;
+    }
+
+    public static class Geocoding {
+
+        private final Gazetteer gazetteer = new Gazetteer();
+
+        private final Cache cache = new Cache();
+
+        private final Upstream upstream = new Upstream();
+
+        private final Enrichment enrichment = new Enrichment();
+
+        public Gazetteer getGazetteer() {
+            return gazetteer;
+        }
+
+        public Cache getCache() {
+            return cache;
+        }
+
+        public Upstream getUpstream() {
+            return upstream;
+        }
+
+        public Enrichment getEnrichment() {
+            return enrichment;
+        }
+
+        public static class Gazetteer {
+
+            private boolean enabled = true;
+
+            private String location = "classpath:config/gazetteer/postal-codes.idx";
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getLocation() {
+                return location;
+            }
+
+            public void setLocation(String location) {
+                this.location = location;
+            }
+        }
+
+        public static class Cache {
+
+            private long maxEntries = 10000;
+
+            private long timeToLiveSeconds = 86400;
+
+            private long negativeTimeToLiveSeconds = 3600;
+
+            public long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public long getNegativeTimeToLiveSeconds() {
+                return negativeTimeToLiveSeconds;
+            }
+
+            public void setNegativeTimeToLiveSeconds(long negativeTimeToLiveSeconds) {
+                this.negativeTimeToLiveSeconds = negativeTimeToLiveSeconds;
+            }
+        }
+
+        public static class Upstream {
+
+            private String baseUrl = "https://api.zippopotam.us";
+
+            private int maxConnections = 50;
+
+            private int connectTimeoutMillis = 2000;
+
+            private int readTimeoutMillis = 3000;
+
+            private int connectionRequestTimeoutMillis = 1000;
+
+            private int idleTimeoutSeconds = 30;
+
+            public String getBaseUrl() {
+                return baseUrl;
+            }
+
+            public void setBaseUrl(String baseUrl) {
+                this.baseUrl = baseUrl;
+            }
+
+            public int getMaxConnections() {
+                return maxConnections;
+            }
+
+            public void setMaxConnections(int maxConnections) {
+                this.maxConnections = maxConnections;
+            }
+
+            public int getConnectTimeoutMillis() {
+                return connectTimeoutMillis;
+            }
+
+            public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+                this.connectTimeoutMillis = connectTimeoutMillis;
+            }
+
+            public int getReadTimeoutMillis() {
+                return readTimeoutMillis;
+            }
+
+            public void setReadTimeoutMillis(int readTimeoutMillis) {
+                this.readTimeoutMillis = readTimeoutMillis;
+            }
+
+            public int getConnectionRequestTimeoutMillis() {
+                return connectionRequestTimeoutMillis;
+            }
+
+            public void setConnectionRequestTimeoutMillis(int connectionRequestTimeoutMillis) {
+                this.connectionRequestTimeoutMillis = connectionRequestTimeoutMillis;
+            }
+
+            public int getIdleTimeoutSeconds() {
+                return idleTimeoutSeconds;
+            }
+
+            public void setIdleTimeoutSeconds(int idleTimeoutSeconds) {
+                this.idleTimeoutSeconds = idleTimeoutSeconds;
+            }
+        }
+
+        public static class Enrichment {
+
+            private boolean async = false;
+
+            private int corePoolSize = 2;
+
+            private int maxPoolSize = 4;
+
+            private int queueCapacity = 1000;
+
+            private int sweepBatchSize = 100;
+
+            private long sweepIntervalMillis = 60000;
+
+            public boolean isAsync() {
+                return async;
+            }
+
+            public void setAsync(boolean async) {
+                this.async = async;
+            }
+
+            public int getCorePoolSize() {
+                return corePoolSize;
+            }
+
+            public void setCorePoolSize(int corePoolSize) {
+                this.corePoolSize = corePoolSize;
+            }
+
+            public int getMaxPoolSize() {
+                return maxPoolSize;
+            }
+
+            public void setMaxPoolSize(int maxPoolSize) {
+                this.maxPoolSize = maxPoolSize;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            public int getSweepBatchSize() {
+                return sweepBatchSize;
+            }
+
+            public void setSweepBatchSize(int sweepBatchSize) {
+                this.sweepBatchSize = sweepBatchSize;
+            }
+
+            public long getSweepIntervalMillis() {
+                return sweepIntervalMillis;
+            }
+
+            public void setSweepIntervalMillis(long sweepIntervalMillis) {
+                this.sweepIntervalMillis = sweepIntervalMillis;
+            }
+        }
+    }
+
+    public static class RegionCounters {
+
+        private boolean enabled = true;
+
+        private long reconcileIntervalMillis = 300000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getReconcileIntervalMillis() {
+            return reconcileIntervalMillis;
+        }
+
+        public void setReconcileIntervalMillis(long reconcileIntervalMillis) {
+            this.reconcileIntervalMillis = reconcileIntervalMillis;
+        }
+    }
+
+    public static class Pagination {
+
+        private int defaultPageSize = 20;
+
+        private int maxPageSize = 100;
+
+        private boolean allowUnpaged = false;
+
+        private int maxMultiGetIds = 100;
+
+        public int getDefaultPageSize() {
+            return defaultPageSize;
+        }
+
+        public void setDefaultPageSize(int defaultPageSize) {
+            this.defaultPageSize = defaultPageSize;
+        }
+
+        public int getMaxPageSize() {
+            return maxPageSize;
+        }
+
+        public void setMaxPageSize(int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+        }
+
+        public boolean isAllowUnpaged() {
+            return allowUnpaged;
+        }
+
+        public void setAllowUnpaged(boolean allowUnpaged) {
+            this.allowUnpaged = allowUnpaged;
+        }
+
+        public int getMaxMultiGetIds() {
+            return maxMultiGetIds;
+        }
+
+        public void setMaxMultiGetIds(int maxMultiGetIds) {
+            this.maxMultiGetIds = maxMultiGetIds;
+        }
+    }
+
+    public static class AccountsCache {
+
+        private long maxEntries = 10000;
+
+        private long timeToLiveSeconds = 3600;
+
+        public long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public long getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+    }
+
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+
+        private long connectionTimeoutMillis = 2000;
+
+        private String lagQuery = "SHOW SLAVE STATUS";
+
+        private long maxLagSeconds = 10;
+
+        private long checkIntervalMillis = 5000;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public long getConnectionTimeoutMillis() {
+            return connectionTimeoutMillis;
+        }
+
+        public void setConnectionTimeoutMillis(long connectionTimeoutMillis) {
+            this.connectionTimeoutMillis = connectionTimeoutMillis;
+        }
+
+        public String getLagQuery() {
+            return lagQuery;
+        }
+
+        public void setLagQuery(String lagQuery) {
+            this.lagQuery = lagQuery;
+        }
+
+        public long getMaxLagSeconds() {
+            return maxLagSeconds;
+        }
+
+        public void setMaxLagSeconds(long maxLagSeconds) {
+            this.maxLagSeconds = maxLagSeconds;
+        }
+
+        public long getCheckIntervalMillis() {
+            return checkIntervalMillis;
+        }
+
+        public void setCheckIntervalMillis(long checkIntervalMillis) {
+            this.checkIntervalMillis = checkIntervalMillis;
+        }
+    }
+
+    public static class AccountIds {
+
+        private int blockSize = 1000;
+
+        private int stripeSize = 16;
+
+        public int getBlockSize() {
+            return blockSize;
+        }
+
+        public void setBlockSize(int blockSize) {
+            this.blockSize = blockSize;
+        }
+
+        public int getStripeSize() {
+            return stripeSize;
+        }
+
+        public void setStripeSize(int stripeSize) {
+            this.stripeSize = stripeSize;
+        }
+    }
+
+    public static class Purge {
+
+        private boolean enabled = false;
+
+        private int inactiveRetentionDays = 90;
+
+        private int batchSize = 500;
+
+        private long intervalMillis = 3600000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInactiveRetentionDays() {
+            return inactiveRetentionDays;
+        }
+
+        public void setInactiveRetentionDays(int inactiveRetentionDays) {
+            this.inactiveRetentionDays = inactiveRetentionDays;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getIntervalMillis() {
+            return intervalMillis;
+        }
+
+        public void setIntervalMillis(long intervalMillis) {
+            this.intervalMillis = intervalMillis;
+        }
+    }
+}
@@ -23,8 +23,11 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, ApplicationProperties applicationProperties) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.applicationProperties = applicationProperties;
     }
 
     @Override
@@ -39,6 +42,28 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    /**
+     * Bounded pool filling in place information of accounts created with the {@code REQUESTED} status.
+     * <p>
+     * Unlike {@link #getAsyncExecutor()}, tasks are rejected once the queue is full: rejected accounts stay
+     * {@code REQUESTED} and are picked up again by the enrichment sweep.
+     *
+     * @return the geocoding executor.
+     */
+    @Bean(name = "geocodingExecutor")
+    public ThreadPoolTaskExecutor geocodingExecutor() {
+        log.debug("Creating Geocoding Task Executor");
+        ApplicationProperties.Geocoding.Enrichment enrichment = applicationProperties.getGeocoding().getEnrichment();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(enrichment.getCorePoolSize());
+        executor.setMaxPoolSize(enrichment.getMaxPoolSize());
+        executor.setQueueCapacity(enrichment.getQueueCapacity());
+        executor.setThreadNamePrefix("account-manager-geocoding-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
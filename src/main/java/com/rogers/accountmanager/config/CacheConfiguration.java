@@ -1,10 +1,15 @@
 package com.rogers.accountmanager.config;
 
+import com.rogers.accountmanager.service.geocoding.PostalPlace;
 import java.time.Duration;
+import java.util.function.Supplier;
 import org.ehcache.config.builders.*;
+import org.ehcache.expiry.ExpiryPolicy;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.hibernate.cache.jcache.ConfigSettings;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
 import org.springframework.cache.annotation.EnableCaching;
@@ -20,8 +25,10 @@ public class CacheConfiguration {
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final javax.cache.configuration.Configuration<Object, Object> postalLookupsConfiguration;
+    private final javax.cache.configuration.Configuration<Object, Object> accountsConfiguration;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
 
         jcacheConfiguration =
@@ -31,6 +38,34 @@ public class CacheConfiguration {
                     .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
                     .build()
             );
+
+        ApplicationProperties.Geocoding.Cache postalLookups = applicationProperties.getGeocoding().getCache();
+        postalLookupsConfiguration =
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder
+                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(postalLookups.getMaxEntries()))
+                    .withExpiry(
+                        new PostalLookupExpiry(
+                            Duration.ofSeconds(postalLookups.getTimeToLiveSeconds()),
+                            Duration.ofSeconds(postalLookups.getNegativeTimeToLiveSeconds())
+                        )
+                    )
+                    .build()
+            );
+
+        ApplicationProperties.AccountsCache accounts = applicationProperties.getAccountsCache();
+        accountsConfiguration =
+            Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder
+                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(accounts.getMaxEntries()))
+                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(accounts.getTimeToLiveSeconds())))
+                    .build()
+            );
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
     }
 
     @Bean
@@ -38,16 +73,27 @@ public class CacheConfiguration {
         return cm -> {
             createCache(cm, com.rogers.accountmanager.repository.UserRepository.USERS_BY_LOGIN_CACHE);
             createCache(cm, com.rogers.accountmanager.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+            createCache(cm, com.rogers.accountmanager.service.geocoding.GeocodingService.POSTAL_LOOKUPS_CACHE, postalLookupsConfiguration);
+            createCache(cm, com.rogers.accountmanager.domain.AccountsInfo.class.getName(), accountsConfiguration);
+            createCache(cm, com.rogers.accountmanager.domain.AccountsInfo.class.getName() + "##NaturalId", accountsConfiguration);
             // jhipster-needle-ehcache-add-entry
         };
     }
 
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, jcacheConfiguration);
+    }
+
+    private void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<Object, Object> configuration
+    ) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, configuration);
         }
     }
 
@@ -65,4 +111,33 @@ public class CacheConfiguration {
     public KeyGenerator keyGenerator() {
         return new PrefixedKeyGenerator(this.gitProperties, this.buildProperties);
     }
+
+    /**
+     * Keeps negative postal lookups for a shorter time, so a postal code added upstream is picked up quickly.
+     */
+    private static final class PostalLookupExpiry implements ExpiryPolicy<Object, Object> {
+
+        private final Duration timeToLive;
+        private final Duration negativeTimeToLive;
+
+        private PostalLookupExpiry(Duration timeToLive, Duration negativeTimeToLive) {
+            this.timeToLive = timeToLive;
+            this.negativeTimeToLive = negativeTimeToLive;
+        }
+
+        @Override
+        public Duration getExpiryForCreation(Object key, Object value) {
+            return value instanceof PostalPlace && ((PostalPlace) value).isUnknown() ? negativeTimeToLive : timeToLive;
+        }
+
+        @Override
+        public Duration getExpiryForAccess(Object key, Supplier<? extends Object> value) {
+            return null;
+        }
+
+        @Override
+        public Duration getExpiryForUpdate(Object key, Supplier<? extends Object> oldValue, Object newValue) {
+            return getExpiryForCreation(key, newValue);
+        }
+    }
 }
@@ -0,0 +1,63 @@
+package com.rogers.accountmanager.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * HTTP client shared by every call to the remote geocoder.
+ * <p>
+ * Connections are pooled and kept alive, so a burst of account writes does not open a new TLS connection per request,
+ * and every call is bounded by timeouts, so a slow upstream cannot hold request threads forever.
+ */
+@Configuration
+public class GeocodingConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(GeocodingConfiguration.class);
+
+    private final ApplicationProperties.Geocoding.Upstream upstream;
+
+    public GeocodingConfiguration(ApplicationProperties applicationProperties) {
+        this.upstream = applicationProperties.getGeocoding().getUpstream();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient geocodingHttpClient(MeterRegistry meterRegistry) {
+        log.debug("Creating geocoding HTTP client with a pool of {} connections", upstream.getMaxConnections());
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(upstream.getMaxConnections());
+        // every call goes to the same host
+        connectionManager.setDefaultMaxPerRoute(upstream.getMaxConnections());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "geocoding").bindTo(meterRegistry);
+
+        RequestConfig requestConfig = RequestConfig
+            .custom()
+            .setConnectTimeout(upstream.getConnectTimeoutMillis())
+            .setSocketTimeout(upstream.getReadTimeoutMillis())
+            .setConnectionRequestTimeout(upstream.getConnectionRequestTimeoutMillis())
+            .build();
+
+        return HttpClients
+            .custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig)
+            .evictExpiredConnections()
+            .evictIdleConnections(upstream.getIdleTimeoutSeconds(), TimeUnit.SECONDS)
+            .build();
+    }
+
+    @Bean
+    public RestTemplate geocodingRestTemplate(CloseableHttpClient geocodingHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(geocodingHttpClient));
+    }
+}
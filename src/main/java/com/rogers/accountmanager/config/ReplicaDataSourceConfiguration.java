@@ -0,0 +1,89 @@
+package com.rogers.accountmanager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Sends read-only transactions to a database replica, when {@code application.replica.url} is set.
+ * <p>
+ * The primary is configured by {@code spring.datasource} as usual. Without a replica, Spring Boot creates the data
+ * source and this configuration is skipped.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.replica", name = "url")
+public class ReplicaDataSourceConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(ReplicaDataSourceConfiguration.class);
+
+    private final ApplicationProperties.Replica replica;
+
+    public ReplicaDataSourceConfiguration(ApplicationProperties applicationProperties) {
+        this.replica = applicationProperties.getReplica();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource replicaDataSource() {
+        log.debug("Creating replica data source for {}", replica.getUrl());
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("Replica");
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername());
+        dataSource.setPassword(replica.getPassword());
+        dataSource.setAutoCommit(false);
+        dataSource.setReadOnly(true);
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setConnectionTimeout(replica.getConnectionTimeoutMillis());
+        // the application starts on the primary when the replica is down
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        MeterRegistry meterRegistry
+    ) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(
+            primaryDataSource,
+            replicaDataSource,
+            replica.getLagQuery(),
+            replica.getMaxLagSeconds()
+        );
+        Gauge
+            .builder("database.replica.usable", routingDataSource, dataSource -> dataSource.isReplicaUsable() ? 1 : 0)
+            .description("1 when read-only transactions are sent to the replica, 0 when they fall back to the primary")
+            .register(meterRegistry);
+        return routingDataSource;
+    }
+
+    /**
+     * The data source used by JPA, Liquibase and JDBC.
+     * <p>
+     * Connections are only fetched at their first statement: the transaction is flagged read-only by then, so the
+     * routing data source can pick the replica.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
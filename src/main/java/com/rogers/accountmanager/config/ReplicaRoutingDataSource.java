@@ -0,0 +1,131 @@
+package com.rogers.accountmanager.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes read-only transactions to the replica, and everything else to the primary.
+ * <p>
+ * The replica is only used once a check found it at most {@code application.replica.max-lag-seconds} behind the
+ * primary. It is left out while it lags more, while its lag cannot be read, and after it failed to give a connection,
+ * until a later check finds it caught up: read-only transactions then go to the primary.
+ * <p>
+ * The transaction must be flagged read-only before the connection is fetched, so this data source is meant to be
+ * wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    // column of the lag in the result of SHOW SLAVE STATUS, other queries return it in their first column
+    private static final String SECONDS_BEHIND_MASTER = "Seconds_Behind_Master";
+
+    enum Target {
+        PRIMARY,
+        REPLICA,
+    }
+
+    private final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+
+    private final DataSource replica;
+
+    private final String lagQuery;
+
+    private final long maxLagSeconds;
+
+    private volatile boolean replicaUsable;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, String lagQuery, long maxLagSeconds) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(Target.PRIMARY, primary);
+        targetDataSources.put(Target.REPLICA, replica);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * @return true when read-only transactions are sent to the replica.
+     */
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return replicaUsable && TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() != Target.REPLICA) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            log.warn("Could not connect to the replica, reading from the primary until it is checked again: {}", e.getMessage());
+            replicaUsable = false;
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Reads the lag of the replica, to decide whether read-only transactions can be sent to it.
+     * <p>
+     * Runs on startup, then every {@code application.replica.check-interval-millis}.
+     */
+    @Scheduled(fixedDelayString = "${application.replica.check-interval-millis:5000}")
+    public void checkReplicaLag() {
+        Long lag = readLagSeconds();
+        boolean usable = lag != null && lag <= maxLagSeconds;
+        if (usable && !replicaUsable) {
+            log.info("Replica is {}s behind the primary, read-only transactions are sent to it", lag);
+        } else if (!usable && replicaUsable) {
+            log.warn("Replica is {}s behind the primary, read-only transactions are sent to the primary", lag == null ? "?" : lag);
+        }
+        replicaUsable = usable;
+    }
+
+    // null when the replica is down, or not replicating
+    private Long readLagSeconds() {
+        try (
+            Connection connection = replica.getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet resultSet = statement.executeQuery(lagQuery)
+        ) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            long lag = resultSet.getLong(lagColumn(resultSet.getMetaData()));
+            return resultSet.wasNull() ? null : lag;
+        } catch (SQLException e) {
+            log.warn("Could not read the lag of the replica: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            if (SECONDS_BEHIND_MASTER.equalsIgnoreCase(metaData.getColumnLabel(column))) {
+                return column;
+            }
+        }
+        return 1;
+    }
+}
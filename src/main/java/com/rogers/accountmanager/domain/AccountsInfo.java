@@ -1,10 +1,15 @@
 package com.rogers.accountmanager.domain;
 
 import java.io.Serializable;
-import java.util.UUID;
+import java.time.Instant;
 import javax.persistence.*;
 import javax.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.Type;
 
 /**
@@ -12,16 +17,19 @@ import org.hibernate.annotations.Type;
  */
 @Entity
 @Table(name = "accounts_info")
+@EntityListeners({ AccountsInfoIdListener.class, AccountsInfoRegionListener.class })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@DynamicUpdate
 public class AccountsInfo implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    // 6 character base-36 id, assigned on persist by AccountsInfoIdListener
+    // unique key of the table, whose primary key is the auto-incremented internal_id column, not mapped
     @Id
     @Column(name = "id")
-    private String id = UUID.randomUUID().toString().replace("-", "").substring(0, 6);
-
-    // 6 digit alphaneumerical id
-    // ToDo Maybe better way
+    private String id;
 
     @NotNull
     @Size(max = 20)
@@ -30,6 +38,7 @@ public class AccountsInfo implements Serializable {
 
     @NotNull
     @Email // applies email validator to this field
+    @NaturalId(mutable = true)
     @Column(name = "email", nullable = false, unique = true)
     private String email;
 
@@ -60,13 +69,21 @@ public class AccountsInfo implements Serializable {
     @Enumerated(EnumType.STRING)
     private Status status = Status.ACTIVE;
 
-    // must be in these states
+    // must be in these states, in this order
     public enum Status {
         REQUESTED,
         ACTIVE,
-        INACTIVE,
+        INACTIVE;
+
+        public boolean canChangeTo(Status status) {
+            return (this == REQUESTED && status == ACTIVE) || (this == ACTIVE && status == INACTIVE);
+        }
     }
 
+    // last change of the status, INACTIVE accounts are purged some time after it
+    @Column(name = "status_changed_at", nullable = false)
+    private Instant statusChangedAt;
+
     @Column(name = "place")
     private String place;
 
@@ -86,6 +103,16 @@ public class AccountsInfo implements Serializable {
     @Column(name = "security_pin", length = 4)
     private Integer securityPin;
 
+    // incremented on every update, null until the account is persisted; Spring Data tells new entities by this null
+    // version, so they are inserted without a select first
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // region of the account as last counted, see AccountsInfoRegionListener
+    @Transient
+    private transient AccountsInfoRegionListener.Region countedRegion;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
     public String getId() {
         return id;
@@ -170,14 +197,30 @@ public class AccountsInfo implements Serializable {
     }
 
     public AccountsInfo status(Status status) {
-        this.status = status;
+        this.setStatus(status);
         return this;
     }
 
     public void setStatus(Status status) {
+        if (this.status != status) {
+            this.statusChangedAt = Instant.now();
+        }
         this.status = status;
     }
 
+    public Instant getStatusChangedAt() {
+        return this.statusChangedAt;
+    }
+
+    public AccountsInfo statusChangedAt(Instant statusChangedAt) {
+        this.statusChangedAt = statusChangedAt;
+        return this;
+    }
+
+    public void setStatusChangedAt(Instant statusChangedAt) {
+        this.statusChangedAt = statusChangedAt;
+    }
+
     public String getPlace() {
         return this.place;
     }
@@ -243,6 +286,32 @@ public class AccountsInfo implements Serializable {
         this.securityPin = securityPin;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public AccountsInfo version(Long version) {
+        this.version = version;
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @PrePersist
+    void prePersist() {
+        statusChangedAt = Instant.now();
+    }
+
+    AccountsInfoRegionListener.Region getCountedRegion() {
+        return countedRegion;
+    }
+
+    void setCountedRegion(AccountsInfoRegionListener.Region countedRegion) {
+        this.countedRegion = countedRegion;
+    }
+
     // determining if two AccountsInfo objects are equal.
     @Override
     public boolean equals(Object o) {
@@ -267,11 +336,13 @@ public class AccountsInfo implements Serializable {
             ", postalCode=" + getPostalCode() +
             ", age=" + getAge() +
             ", status='" + getStatus() + "'" +
+            ", statusChangedAt='" + getStatusChangedAt() + "'" +
             ", place='" + getPlace() + "'" +
             ", state='" + getState() + "'" +
             ", longitude=" + getLongitude() +
             ", latitude=" + getLatitude() +
             ", securityPin=" + getSecurityPin() +
+            ", version=" + getVersion() +
             "}";
     }
 }
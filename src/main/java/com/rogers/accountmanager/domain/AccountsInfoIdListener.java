@@ -0,0 +1,24 @@
+package com.rogers.accountmanager.domain;
+
+import com.rogers.accountmanager.service.AccountIdGenerator;
+import javax.persistence.PrePersist;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Entity listener assigning an id from the {@link AccountIdGenerator} to accounts persisted without one.
+ */
+public class AccountsInfoIdListener {
+
+    private final ObjectProvider<AccountIdGenerator> accountIdGenerator;
+
+    public AccountsInfoIdListener(ObjectProvider<AccountIdGenerator> accountIdGenerator) {
+        this.accountIdGenerator = accountIdGenerator;
+    }
+
+    @PrePersist
+    public void prePersist(AccountsInfo accountsInfo) {
+        if (accountsInfo.getId() == null) {
+            accountsInfo.setId(accountIdGenerator.getObject().nextId());
+        }
+    }
+}
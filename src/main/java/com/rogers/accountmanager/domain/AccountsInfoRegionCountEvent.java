@@ -0,0 +1,42 @@
+package com.rogers.accountmanager.domain;
+
+/**
+ * Event published by {@link AccountsInfoRegionListener} when accounts enter or leave a place.
+ */
+public class AccountsInfoRegionCountEvent {
+
+    private final AccountsInfo.Country country;
+
+    private final String state;
+
+    private final String place;
+
+    private final long delta;
+
+    public AccountsInfoRegionCountEvent(AccountsInfo.Country country, String state, String place, long delta) {
+        this.country = country;
+        this.state = state;
+        this.place = place;
+        this.delta = delta;
+    }
+
+    public AccountsInfo.Country getCountry() {
+        return country;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public String getPlace() {
+        return place;
+    }
+
+    /**
+     * @return the number of accounts entering the place, negative when they leave it.
+     */
+    public long getDelta() {
+        return delta;
+    }
+
+}
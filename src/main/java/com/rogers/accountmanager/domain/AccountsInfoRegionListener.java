@@ -0,0 +1,101 @@
+package com.rogers.accountmanager.domain;
+
+import java.util.Objects;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Entity listener publishing an {@link AccountsInfoRegionCountEvent} when an account enters or leaves a place.
+ * <p>
+ * The region of an account is remembered when it is loaded or written, so an update moving it to another country,
+ * state or place leaves one place and enters another.
+ */
+public class AccountsInfoRegionListener {
+
+    private final ObjectProvider<ApplicationEventPublisher> eventPublisher;
+
+    public AccountsInfoRegionListener(ObjectProvider<ApplicationEventPublisher> eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostLoad
+    public void postLoad(AccountsInfo accountsInfo) {
+        accountsInfo.setCountedRegion(Region.of(accountsInfo));
+    }
+
+    @PostPersist
+    public void postPersist(AccountsInfo accountsInfo) {
+        move(accountsInfo, null, Region.of(accountsInfo));
+    }
+
+    @PostUpdate
+    public void postUpdate(AccountsInfo accountsInfo) {
+        move(accountsInfo, accountsInfo.getCountedRegion(), Region.of(accountsInfo));
+    }
+
+    @PostRemove
+    public void postRemove(AccountsInfo accountsInfo) {
+        move(accountsInfo, accountsInfo.getCountedRegion(), null);
+    }
+
+    private void move(AccountsInfo accountsInfo, Region from, Region to) {
+        accountsInfo.setCountedRegion(to);
+        ApplicationEventPublisher publisher = eventPublisher.getIfAvailable();
+        if (publisher == null || Objects.equals(from, to)) {
+            return;
+        }
+        if (from != null) {
+            publisher.publishEvent(new AccountsInfoRegionCountEvent(from.country, from.state, from.place, -1));
+        }
+        if (to != null) {
+            publisher.publishEvent(new AccountsInfoRegionCountEvent(to.country, to.state, to.place, 1));
+        }
+    }
+
+    /**
+     * Country, state and place of an account, as grouped by {@code /accounts-infos-retrieve}.
+     */
+    static final class Region {
+
+        private final AccountsInfo.Country country;
+
+        private final String state;
+
+        private final String place;
+
+        private Region(AccountsInfo.Country country, String state, String place) {
+            this.country = country;
+            this.state = state;
+            this.place = place;
+        }
+
+        // accounts not geocoded yet are not counted
+        static Region of(AccountsInfo accountsInfo) {
+            if (accountsInfo.getCountry() == null || accountsInfo.getState() == null || accountsInfo.getPlace() == null) {
+                return null;
+            }
+            return new Region(accountsInfo.getCountry(), accountsInfo.getState(), accountsInfo.getPlace());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Region)) {
+                return false;
+            }
+            Region region = (Region) o;
+            return country == region.country && state.equals(region.state) && place.equals(region.place);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(country, state, place);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.rogers.accountmanager.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository reserving blocks of id values in the {@code account_id_block} table.
+ */
+@Repository
+public class AccountIdBlockRepository {
+
+    public static final String ACCOUNTS_INFO = "accounts_info";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AccountIdBlockRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reserve consecutive values of a sequence, in a transaction of its own.
+     * <p>
+     * The update locks the row until the transaction commits, so nodes reserving at the same time get distinct blocks.
+     *
+     * @param name the name of the sequence.
+     * @param size the number of values.
+     * @return the first reserved value.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserve(String name, int size) {
+        int updated = jdbcTemplate.update("UPDATE account_id_block SET next_value = next_value + ? WHERE name = ?", size, name);
+        if (updated != 1) {
+            throw new IllegalStateException("No account id block named " + name);
+        }
+        return jdbcTemplate.queryForObject("SELECT next_value FROM account_id_block WHERE name = ?", Long.class, name) - size;
+    }
+}
@@ -0,0 +1,14 @@
+package com.rogers.accountmanager.repository;
+
+import com.rogers.accountmanager.domain.AccountsInfo;
+import java.util.Optional;
+
+/**
+ * Lookups of {@link AccountsInfo} by its email, the natural id.
+ * <p>
+ * Unlike a derived query, they go through the natural-id cache: a cached email is resolved to its id, then to the
+ * cached entity, without querying the database.
+ */
+public interface AccountsInfoNaturalIdRepository {
+    Optional<AccountsInfo> findByEmail(String email);
+}
@@ -0,0 +1,20 @@
+package com.rogers.accountmanager.repository;
+
+import com.rogers.accountmanager.domain.AccountsInfo;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import org.hibernate.Session;
+
+public class AccountsInfoNaturalIdRepositoryImpl implements AccountsInfoNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    public AccountsInfoNaturalIdRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<AccountsInfo> findByEmail(String email) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(AccountsInfo.class).loadOptional(email);
+    }
+}
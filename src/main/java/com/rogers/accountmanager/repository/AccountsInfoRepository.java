@@ -1,9 +1,17 @@
 package com.rogers.accountmanager.repository;
 
 import com.rogers.accountmanager.domain.AccountsInfo;
+import com.rogers.accountmanager.service.dto.AccountsInfoSummaryDTO;
+import com.rogers.accountmanager.service.dto.CountOfUsersGroupedByStateAndPlaceDTO;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,11 +19,50 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface AccountsInfoRepository extends JpaRepository<AccountsInfo, String> {
-    Optional<AccountsInfo> findByEmail(String email);
-    /*
-    @Query("SELECT State, Place, COUNT(id) as user FROM accounts_info GROUP BY State, Place" +
-        " ORDER BY State, Place")*/
-    //        List<Object[]> getCountByCountryAndState();/**/
+public interface AccountsInfoRepository
+    extends
+        JpaRepository<AccountsInfo, String>,
+        JpaSpecificationExecutor<AccountsInfo>,
+        AccountsInfoSliceRepository,
+        AccountsInfoNaturalIdRepository,
+        AccountsInfoStatusRepository {
+    // rows fetched per round trip by streamAll()
+    int STREAM_FETCH_SIZE = 500;
 
+    @Query("select accountsInfo.version from AccountsInfo accountsInfo where accountsInfo.id = :id")
+    Optional<Long> findVersionById(@Param("id") String id);
+
+    @QueryHints(
+        {
+            @QueryHint(name = QueryHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = QueryHints.HINT_READONLY, value = "true"),
+        }
+    )
+    @Query("select accountsInfo from AccountsInfo accountsInfo order by accountsInfo.id")
+    Stream<AccountsInfo> streamAll();
+
+    @Query("select accountsInfo.id from AccountsInfo accountsInfo where accountsInfo.status = :status order by accountsInfo.id")
+    List<String> findIdsByStatus(@Param("status") AccountsInfo.Status status, Pageable pageable);
+
+    @Query(
+        "select new com.rogers.accountmanager.service.dto.AccountsInfoSummaryDTO(" +
+        "accountsInfo.id, accountsInfo.name, accountsInfo.country, accountsInfo.state, accountsInfo.place, accountsInfo.status, " +
+        "accountsInfo.version) " +
+        "from AccountsInfo accountsInfo where accountsInfo.status = :status and accountsInfo.statusChangedAt < :before " +
+        "order by accountsInfo.id"
+    )
+    List<AccountsInfoSummaryDTO> findSummariesByStatusChangedBefore(
+        @Param("status") AccountsInfo.Status status,
+        @Param("before") Instant before,
+        Pageable pageable
+    );
+
+    // accounts not geocoded yet have no state nor place, they are not counted
+    @Query(
+        "select new com.rogers.accountmanager.service.dto.CountOfUsersGroupedByStateAndPlaceDTO(" +
+        "accountsInfo.country, accountsInfo.state, accountsInfo.place, count(accountsInfo)) " +
+        "from AccountsInfo accountsInfo where accountsInfo.state is not null and accountsInfo.place is not null " +
+        "group by accountsInfo.country, accountsInfo.state, accountsInfo.place"
+    )
+    List<CountOfUsersGroupedByStateAndPlaceDTO> countGroupedByCountryAndStateAndPlace();
 }
@@ -0,0 +1,21 @@
+package com.rogers.accountmanager.repository;
+
+import com.rogers.accountmanager.domain.AccountsInfo;
+import com.rogers.accountmanager.service.dto.AccountsInfoSummaryDTO;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * {@link AccountsInfoSummaryDTO} projections of the {@link AccountsInfo} matching a {@link Specification}.
+ * <p>
+ * Slices do not run a count query, unlike {@code JpaSpecificationExecutor#findAll(Specification, Pageable)}: one more
+ * row than the page size is fetched to know whether another page follows.
+ */
+public interface AccountsInfoSliceRepository {
+    Slice<AccountsInfoSummaryDTO> findSummarySlice(Specification<AccountsInfo> specification, Pageable pageable);
+
+    List<AccountsInfoSummaryDTO> findSummaries(Specification<AccountsInfo> specification, Sort sort);
+}
@@ -0,0 +1,66 @@
+package com.rogers.accountmanager.repository;
+
+import com.rogers.accountmanager.domain.AccountsInfo;
+import com.rogers.accountmanager.domain.AccountsInfo_;
+import com.rogers.accountmanager.service.dto.AccountsInfoSummaryDTO;
+import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+public class AccountsInfoSliceRepositoryImpl implements AccountsInfoSliceRepository {
+
+    private final EntityManager entityManager;
+
+    public AccountsInfoSliceRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Slice<AccountsInfoSummaryDTO> findSummarySlice(Specification<AccountsInfo> specification, Pageable pageable) {
+        List<AccountsInfoSummaryDTO> content = createSummaryQuery(specification, pageable.getSort())
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize() + 1)
+            .getResultList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public List<AccountsInfoSummaryDTO> findSummaries(Specification<AccountsInfo> specification, Sort sort) {
+        return createSummaryQuery(specification, sort).getResultList();
+    }
+
+    private TypedQuery<AccountsInfoSummaryDTO> createSummaryQuery(Specification<AccountsInfo> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AccountsInfoSummaryDTO> query = cb.createQuery(AccountsInfoSummaryDTO.class);
+        Root<AccountsInfo> root = query.from(AccountsInfo.class);
+        query.select(
+            cb.construct(
+                AccountsInfoSummaryDTO.class,
+                root.get(AccountsInfo_.id),
+                root.get(AccountsInfo_.name),
+                root.get(AccountsInfo_.country),
+                root.get(AccountsInfo_.state),
+                root.get(AccountsInfo_.place),
+                root.get(AccountsInfo_.status),
+                root.get(AccountsInfo_.version)
+            )
+        );
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+}
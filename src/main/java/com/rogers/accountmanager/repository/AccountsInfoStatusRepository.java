@@ -0,0 +1,60 @@
+package com.rogers.accountmanager.repository;
+
+import com.rogers.accountmanager.domain.AccountsInfo;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Writes of an {@link AccountsInfo} conditioned on its status.
+ * <p>
+ * The status is compared and set, or the account deleted, by a single conditional statement instead of loading and
+ * saving the entity, so two concurrent writes of the same account cannot both succeed. Only the written accounts are
+ * evicted from the second-level cache, where a JPQL update or delete would evict all of them.
+ */
+public interface AccountsInfoStatusRepository {
+    /**
+     * Change the status of an account, if it still has the expected one; the version is incremented.
+     *
+     * @param id the id of the account.
+     * @param expected the status the account must have.
+     * @param status the new status.
+     * @return true if the status was changed, false if there is no such account or it has another status.
+     */
+    boolean compareAndSetStatus(String id, AccountsInfo.Status expected, AccountsInfo.Status status);
+
+    /**
+     * Change the status of the {@code ACTIVE} accounts of a state to {@code INACTIVE}; their version is incremented.
+     *
+     * @param country the country of the state.
+     * @param state the state.
+     * @return the number of deactivated accounts.
+     */
+    int deactivateByCountryAndState(AccountsInfo.Country country, String state);
+
+    /**
+     * Delete an account, if it is {@code INACTIVE} and has the security pin.
+     *
+     * @param id the id of the account.
+     * @param securityPin the security pin of the account.
+     * @return true if the account was deleted, false if there is no such account, it is not inactive or has another pin.
+     */
+    boolean deleteIfInactive(String id, Integer securityPin);
+
+    /**
+     * Delete the accounts among the given ones whose status was changed to {@code INACTIVE} before an instant.
+     *
+     * @param ids the ids of the accounts.
+     * @param before the instant.
+     * @return the number of deleted accounts.
+     */
+    int deleteInactiveBefore(Collection<String> ids, Instant before);
+
+    /**
+     * Find an account in the second-level cache only, without querying the database.
+     *
+     * @param id the id of the account.
+     * @return the account, or empty if it is not cached.
+     */
+    Optional<AccountsInfo> findCachedById(String id);
+}
@@ -0,0 +1,194 @@
+package com.rogers.accountmanager.repository;
+
+import com.rogers.accountmanager.domain.AccountsInfo;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class AccountsInfoStatusRepositoryImpl implements AccountsInfoStatusRepository {
+
+    // no entity is mapped to this query space, so Hibernate evicts no cache region after the update
+    private static final String STATUS_QUERY_SPACE = "accounts_info_status";
+
+    private final EntityManager entityManager;
+
+    public AccountsInfoStatusRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public boolean compareAndSetStatus(String id, AccountsInfo.Status expected, AccountsInfo.Status status) {
+        int updated = entityManager
+            .createNativeQuery(
+                "update accounts_info set status = :status, status_changed_at = :statusChangedAt, version = version + 1 " +
+                "where id = :id and status = :expected"
+            )
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace(STATUS_QUERY_SPACE)
+            .setParameter("status", status.name())
+            .setParameter("statusChangedAt", Timestamp.from(Instant.now()))
+            .setParameter("id", id)
+            .setParameter("expected", expected.name())
+            .executeUpdate();
+        if (updated == 0) {
+            return false;
+        }
+        evict(Collections.singletonList(id), Collections.emptyList());
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int deactivateByCountryAndState(AccountsInfo.Country country, String state) {
+        int updated = entityManager
+            .createNativeQuery(
+                "update accounts_info set status = :status, status_changed_at = :statusChangedAt, version = version + 1 " +
+                "where country = :country and state = :state and status = :expected"
+            )
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace(STATUS_QUERY_SPACE)
+            .setParameter("status", AccountsInfo.Status.INACTIVE.name())
+            .setParameter("statusChangedAt", Timestamp.from(Instant.now()))
+            .setParameter("country", country.name())
+            .setParameter("state", state)
+            .setParameter("expected", AccountsInfo.Status.ACTIVE.name())
+            .executeUpdate();
+        if (updated == 0) {
+            return 0;
+        }
+        // the inactive accounts of the state, a superset of the deactivated ones, which this transaction has locked
+        List<String> ids = entityManager
+            .createNativeQuery("select id from accounts_info where country = :country and state = :state and status = :status")
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace(STATUS_QUERY_SPACE)
+            .setParameter("country", country.name())
+            .setParameter("state", state)
+            .setParameter("status", AccountsInfo.Status.INACTIVE.name())
+            .getResultList();
+        evict(ids, Collections.emptyList());
+        return updated;
+    }
+
+    @Override
+    public boolean deleteIfInactive(String id, Integer securityPin) {
+        // the email of a cached account is known without a query, its natural id is evicted alone
+        Optional<String> email = findCachedById(id).map(AccountsInfo::getEmail);
+        int deleted = entityManager
+            .createNativeQuery("delete from accounts_info where id = :id and security_pin = :securityPin and status = :status")
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace(STATUS_QUERY_SPACE)
+            .setParameter("id", id)
+            .setParameter("securityPin", securityPin)
+            .setParameter("status", AccountsInfo.Status.INACTIVE.name())
+            .executeUpdate();
+        if (deleted == 0) {
+            return false;
+        }
+        if (email.isPresent()) {
+            evict(Collections.singletonList(id), Collections.singletonList(email.get()));
+        } else {
+            // rarely not cached: its email is unknown, so the natural-id region is evicted, not the entity region
+            evict(Collections.singletonList(id), Collections.emptyList());
+            sessionFactory().getCache().evictNaturalIdData(AccountsInfo.class);
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int deleteInactiveBefore(Collection<String> ids, Instant before) {
+        // inactive accounts are not updated anymore, the selected ones are those deleted unless deleted meanwhile
+        List<Object[]> rows = entityManager
+            .createNativeQuery(
+                "select id, email from accounts_info where id in (:ids) and status = :status and status_changed_at < :before"
+            )
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace(STATUS_QUERY_SPACE)
+            .setParameterList("ids", ids)
+            .setParameter("status", AccountsInfo.Status.INACTIVE.name())
+            .setParameter("before", Timestamp.from(before))
+            .getResultList();
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<String> deletedIds = new ArrayList<>();
+        List<String> emails = new ArrayList<>();
+        for (Object[] row : rows) {
+            deletedIds.add((String) row[0]);
+            emails.add((String) row[1]);
+        }
+        int deleted = entityManager
+            .createNativeQuery("delete from accounts_info where id in (:ids) and status = :status and status_changed_at < :before")
+            .unwrap(NativeQuery.class)
+            .addSynchronizedQuerySpace(STATUS_QUERY_SPACE)
+            .setParameterList("ids", deletedIds)
+            .setParameter("status", AccountsInfo.Status.INACTIVE.name())
+            .setParameter("before", Timestamp.from(before))
+            .executeUpdate();
+        evict(deletedIds, emails);
+        return deleted;
+    }
+
+    @Override
+    public Optional<AccountsInfo> findCachedById(String id) {
+        if (!entityManager.getEntityManagerFactory().getCache().contains(AccountsInfo.class, id)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entityManager.find(AccountsInfo.class, id));
+    }
+
+    // evicted again after commit, in case a concurrent read cached the previous state meanwhile
+    private void evict(Collection<String> ids, Collection<String> emails) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        NaturalIdDataAccess naturalIdCache = persister().getNaturalIdCacheAccessStrategy();
+        List<Object> naturalIdKeys = naturalIdKeys(emails);
+        Runnable evict = () -> {
+            ids.forEach(id -> cache.evict(AccountsInfo.class, id));
+            naturalIdKeys.forEach(naturalIdCache::evict);
+        };
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        evict.run();
+                    }
+                }
+            );
+        }
+    }
+
+    // the keys of these emails only, the rest of the natural-id cache region is kept
+    private List<Object> naturalIdKeys(Collection<String> emails) {
+        EntityPersister persister = persister();
+        NaturalIdDataAccess naturalIdCache = persister.getNaturalIdCacheAccessStrategy();
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        List<Object> keys = new ArrayList<>();
+        for (String email : emails) {
+            keys.add(naturalIdCache.generateCacheKey(new Object[] { email }, persister, session));
+        }
+        return keys;
+    }
+
+    private EntityPersister persister() {
+        return sessionFactory().getMetamodel().entityPersister(AccountsInfo.class);
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+    }
+}
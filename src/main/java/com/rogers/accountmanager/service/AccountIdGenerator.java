@@ -0,0 +1,18 @@
+package com.rogers.accountmanager.service;
+
+/**
+ * Generator of the 6 character ids of new {@link com.rogers.accountmanager.domain.AccountsInfo}.
+ * <p>
+ * Ids are assigned when an account is persisted without one, see
+ * {@link com.rogers.accountmanager.domain.AccountsInfoIdListener}. Declare a bean of this type to replace the default
+ * {@link BlockAccountIdGenerator}.
+ */
+@FunctionalInterface
+public interface AccountIdGenerator {
+    /**
+     * Get a new id, never returned before by any node.
+     *
+     * @return the id.
+     */
+    String nextId();
+}
@@ -0,0 +1,181 @@
+package com.rogers.accountmanager.service;
+
+import com.rogers.accountmanager.config.ApplicationProperties;
+import com.rogers.accountmanager.domain.AccountsInfo;
+import com.rogers.accountmanager.repository.AccountsInfoRepository;
+import com.rogers.accountmanager.service.geocoding.GeocodingService;
+import com.rogers.accountmanager.service.geocoding.PostalPlace;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service filling in the place of accounts created with the {@link AccountsInfo.Status#REQUESTED} status.
+ * <p>
+ * Accounts are geocoded on the bounded {@code geocodingExecutor} pool, then switched to
+ * {@link AccountsInfo.Status#ACTIVE}. Accounts whose postal code is unknown are switched to
+ * {@link AccountsInfo.Status#INACTIVE}. Accounts that could not be queued, or whose geocoding failed, stay
+ * {@code REQUESTED} and are queued again by {@link #sweepRequestedAccounts()}.
+ */
+@Service
+public class AccountsInfoEnrichmentService {
+
+    private final Logger log = LoggerFactory.getLogger(AccountsInfoEnrichmentService.class);
+
+    private final AccountsInfoRepository accountsInfoRepository;
+
+    private final GeocodingService geocodingService;
+
+    private final ThreadPoolTaskExecutor geocodingExecutor;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Geocoding.Enrichment enrichment;
+
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final Timer lag;
+
+    private final MeterRegistry meterRegistry;
+
+    public AccountsInfoEnrichmentService(
+        AccountsInfoRepository accountsInfoRepository,
+        GeocodingService geocodingService,
+        ThreadPoolTaskExecutor geocodingExecutor,
+        TransactionTemplate transactionTemplate,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.accountsInfoRepository = accountsInfoRepository;
+        this.geocodingService = geocodingService;
+        this.geocodingExecutor = geocodingExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.enrichment = applicationProperties.getGeocoding().getEnrichment();
+        this.meterRegistry = meterRegistry;
+        this.lag =
+            Timer
+                .builder("accounts.enrichment.lag")
+                .description("Time between queuing a REQUESTED account and its activation")
+                .register(meterRegistry);
+        Gauge
+            .builder("accounts.enrichment.queue", geocodingExecutor, executor -> executor.getThreadPoolExecutor().getQueue().size())
+            .description("REQUESTED accounts waiting for a geocoding worker")
+            .register(meterRegistry);
+        Gauge.builder("accounts.enrichment.pending", pending, Set::size).register(meterRegistry);
+    }
+
+    public boolean isAsync() {
+        return enrichment.isAsync();
+    }
+
+    /**
+     * Queues the enrichment of a {@code REQUESTED} account once the current transaction, if any, has committed.
+     *
+     * @param id the id of the account.
+     */
+    public void enrichAfterCommit(String id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        enqueue(id);
+                    }
+                }
+            );
+        } else {
+            enqueue(id);
+        }
+    }
+
+    /**
+     * Queues again {@code REQUESTED} accounts which are not waiting for a worker, e.g. after a rejection or a restart.
+     */
+    @Scheduled(fixedDelayString = "${application.geocoding.enrichment.sweep-interval-millis:60000}")
+    public void sweepRequestedAccounts() {
+        if (!enrichment.isAsync()) {
+            return;
+        }
+        List<String> ids = accountsInfoRepository.findIdsByStatus(
+            AccountsInfo.Status.REQUESTED,
+            PageRequest.of(0, enrichment.getSweepBatchSize())
+        );
+        ids.stream().filter(id -> !pending.contains(id)).forEach(this::enqueue);
+    }
+
+    private void enqueue(String id) {
+        if (!pending.add(id)) {
+            return;
+        }
+        long queuedAt = System.nanoTime();
+        try {
+            geocodingExecutor.execute(() -> enrich(id, queuedAt));
+        } catch (TaskRejectedException e) {
+            pending.remove(id);
+            failure("rejected");
+            log.warn("Geocoding queue full, account {} stays REQUESTED until the next sweep", id);
+        }
+    }
+
+    void enrich(String id, long queuedAt) {
+        try {
+            Optional<AccountsInfo> account = accountsInfoRepository.findById(id).filter(AccountsInfoEnrichmentService::isRequested);
+            if (!account.isPresent()) {
+                return;
+            }
+            // geocoding runs outside of any transaction, the write below is short
+            Optional<PostalPlace> place = geocodingService.resolve(account.get().getCountry(), account.get().getPostalCode());
+            transactionTemplate.executeWithoutResult(
+                status ->
+                    accountsInfoRepository
+                        .findById(id)
+                        .filter(AccountsInfoEnrichmentService::isRequested)
+                        .ifPresent(
+                            accountsInfo -> {
+                                if (place.isPresent()) {
+                                    place.get().applyTo(accountsInfo);
+                                    accountsInfo.setStatus(AccountsInfo.Status.ACTIVE);
+                                } else {
+                                    log.warn("Unknown postal code for account {}, deactivating it", id);
+                                    accountsInfo.setStatus(AccountsInfo.Status.INACTIVE);
+                                }
+                            }
+                        )
+            );
+            if (place.isPresent()) {
+                lag.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            } else {
+                failure("unknown-postal-code");
+            }
+        } catch (RuntimeException e) {
+            failure("error");
+            log.error("Could not geocode account {}, it stays REQUESTED until the next sweep", id, e);
+        } finally {
+            pending.remove(id);
+        }
+    }
+
+    private static boolean isRequested(AccountsInfo accountsInfo) {
+        return accountsInfo.getStatus() == AccountsInfo.Status.REQUESTED;
+    }
+
+    private void failure(String reason) {
+        Counter.builder("accounts.enrichment.failures").tag("reason", reason).register(meterRegistry).increment();
+    }
+}
@@ -0,0 +1,10 @@
+package com.rogers.accountmanager.service;
+
+public class AccountsInfoModifiedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AccountsInfoModifiedException() {
+        super("Entity was modified");
+    }
+}
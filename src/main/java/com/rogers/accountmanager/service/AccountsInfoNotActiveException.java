@@ -0,0 +1,10 @@
+package com.rogers.accountmanager.service;
+
+public class AccountsInfoNotActiveException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AccountsInfoNotActiveException() {
+        super("Inactive Status");
+    }
+}
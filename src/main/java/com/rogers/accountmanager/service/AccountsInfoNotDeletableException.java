@@ -0,0 +1,10 @@
+package com.rogers.accountmanager.service;
+
+public class AccountsInfoNotDeletableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AccountsInfoNotDeletableException() {
+        super("Invalid status");
+    }
+}
@@ -0,0 +1,121 @@
+package com.rogers.accountmanager.service;
+
+import com.rogers.accountmanager.config.ApplicationProperties;
+import com.rogers.accountmanager.domain.AccountsInfo;
+import com.rogers.accountmanager.repository.AccountsInfoRepository;
+import com.rogers.accountmanager.service.dto.AccountsInfoSummaryDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service deleting the accounts {@link AccountsInfo.Status#INACTIVE} for longer than
+ * {@code application.purge.inactive-retention-days}.
+ * <p>
+ * Accounts are deleted by batches of {@code application.purge.batch-size}, each in a transaction of its own, so row
+ * locks are only held on one batch at a time. The {@code accounts.purge.deleted} and {@code accounts.purge.batches}
+ * counters follow the progress.
+ */
+@Service
+public class AccountsInfoPurgeService {
+
+    private final Logger log = LoggerFactory.getLogger(AccountsInfoPurgeService.class);
+
+    private final AccountsInfoRepository accountsInfoRepository;
+
+    private final AccountsInfoRegionCounters accountsInfoRegionCounters;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Purge purge;
+
+    private final Counter deleted;
+
+    private final Counter batches;
+
+    public AccountsInfoPurgeService(
+        AccountsInfoRepository accountsInfoRepository,
+        AccountsInfoRegionCounters accountsInfoRegionCounters,
+        TransactionTemplate transactionTemplate,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.accountsInfoRepository = accountsInfoRepository;
+        this.accountsInfoRegionCounters = accountsInfoRegionCounters;
+        this.transactionTemplate = transactionTemplate;
+        this.purge = applicationProperties.getPurge();
+        this.deleted = Counter.builder("accounts.purge.deleted").description("INACTIVE accounts purged").register(meterRegistry);
+        this.batches =
+            Counter
+                .builder("accounts.purge.batches")
+                .description("Batches of INACTIVE accounts purged, one transaction each")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Purges the accounts {@code INACTIVE} for longer than the retention, every {@code application.purge.interval-millis}.
+     */
+    @Scheduled(fixedDelayString = "${application.purge.interval-millis:3600000}")
+    public void purgeInactiveAccounts() {
+        if (!purge.isEnabled()) {
+            return;
+        }
+        long count = purgeInactiveBefore(Instant.now().minus(Duration.ofDays(purge.getInactiveRetentionDays())));
+        if (count > 0) {
+            log.info("Purged {} accounts INACTIVE for more than {} days", count, purge.getInactiveRetentionDays());
+        }
+    }
+
+    /**
+     * Delete the accounts whose status was changed to {@code INACTIVE} before a given instant.
+     *
+     * @param before the instant.
+     * @return the number of deleted accounts.
+     */
+    public long purgeInactiveBefore(Instant before) {
+        long count = 0;
+        while (true) {
+            List<AccountsInfoSummaryDTO> batch = accountsInfoRepository.findSummariesByStatusChangedBefore(
+                AccountsInfo.Status.INACTIVE,
+                before,
+                PageRequest.of(0, purge.getBatchSize())
+            );
+            if (batch.isEmpty()) {
+                return count;
+            }
+            List<String> ids = batch.stream().map(AccountsInfoSummaryDTO::getId).collect(Collectors.toList());
+            int batchCount = transactionTemplate.execute(status -> accountsInfoRepository.deleteInactiveBefore(ids, before));
+            uncount(batch, batchCount);
+            count += batchCount;
+            deleted.increment(batchCount);
+            batches.increment();
+            log.debug("Purged {} INACTIVE accounts, {} so far", batchCount, count);
+            if (batch.size() < purge.getBatchSize()) {
+                return count;
+            }
+        }
+    }
+
+    // the entity listener is bypassed by the native delete
+    private void uncount(List<AccountsInfoSummaryDTO> batch, int batchCount) {
+        if (batchCount < batch.size()) {
+            // some accounts were changed meanwhile, which ones were deleted is unknown
+            accountsInfoRegionCounters.reconcile();
+            return;
+        }
+        for (AccountsInfoSummaryDTO summary : batch) {
+            if (summary.getState() != null && summary.getPlace() != null) {
+                accountsInfoRegionCounters.add(summary.getCountry(), summary.getState(), summary.getPlace(), -1);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.rogers.accountmanager.service;
+
+import com.rogers.accountmanager.domain.*; // for static metamodels
+import com.rogers.accountmanager.domain.AccountsInfo;
+import com.rogers.accountmanager.repository.AccountsInfoRepository;
+import com.rogers.accountmanager.service.criteria.AccountsInfoCriteria;
+import com.rogers.accountmanager.service.dto.AccountsInfoSummaryDTO;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link AccountsInfo} entities in the database.
+ * The main input is a {@link AccountsInfoCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link List} or a {@link Slice} of {@link AccountsInfoSummaryDTO} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AccountsInfoQueryService extends QueryService<AccountsInfo> {
+
+    private final Logger log = LoggerFactory.getLogger(AccountsInfoQueryService.class);
+
+    private final AccountsInfoRepository accountsInfoRepository;
+
+    public AccountsInfoQueryService(AccountsInfoRepository accountsInfoRepository) {
+        this.accountsInfoRepository = accountsInfoRepository;
+    }
+
+    /**
+     * Return a {@link List} of {@link AccountsInfoSummaryDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching entities.
+     */
+    public List<AccountsInfoSummaryDTO> findByCriteria(AccountsInfoCriteria criteria) {
+        log.debug("find by criteria : {}", criteria);
+        final Specification<AccountsInfo> specification = createSpecification(criteria);
+        return accountsInfoRepository.findSummaries(specification, Sort.by(AccountsInfo_.ID));
+    }
+
+    /**
+     * Return a {@link Slice} of {@link AccountsInfoSummaryDTO} which matches the criteria from the database, ordered by id and
+     * seeking past the last id of the previous page.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param afterId The last id of the previous page, or {@code null} for the first page.
+     * @param size The size of the page.
+     * @return the matching entities.
+     */
+    public Slice<AccountsInfoSummaryDTO> findByCriteria(AccountsInfoCriteria criteria, String afterId, int size) {
+        log.debug("find by criteria : {}, after : {}, size : {}", criteria, afterId, size);
+        Specification<AccountsInfo> specification = createSpecification(criteria);
+        if (afterId != null) {
+            specification = specification.and((root, query, cb) -> cb.greaterThan(root.get(AccountsInfo_.id), afterId));
+        }
+        return accountsInfoRepository.findSummarySlice(specification, PageRequest.of(0, size, Sort.by(AccountsInfo_.ID)));
+    }
+
+    /**
+     * Function to convert {@link AccountsInfoCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<AccountsInfo> createSpecification(AccountsInfoCriteria criteria) {
+        Specification<AccountsInfo> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getCountry() != null) {
+                specification = specification.and(buildSpecification(criteria.getCountry(), AccountsInfo_.country));
+            }
+            if (criteria.getState() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getState(), AccountsInfo_.state));
+            }
+            if (criteria.getPlace() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getPlace(), AccountsInfo_.place));
+            }
+            if (criteria.getStatus() != null) {
+                specification = specification.and(buildSpecification(criteria.getStatus(), AccountsInfo_.status));
+            }
+            if (criteria.getPostalCode() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getPostalCode(), AccountsInfo_.postalCode));
+            }
+            if (criteria.getAge() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getAge(), AccountsInfo_.age));
+            }
+        }
+        return specification;
+    }
+}
@@ -0,0 +1,209 @@
+package com.rogers.accountmanager.service;
+
+import com.rogers.accountmanager.config.ApplicationProperties;
+import com.rogers.accountmanager.domain.AccountsInfo;
+import com.rogers.accountmanager.domain.AccountsInfoRegionCountEvent;
+import com.rogers.accountmanager.repository.AccountsInfoRepository;
+import com.rogers.accountmanager.service.dto.CountOfUsersGroupedByStateAndPlaceDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory count of accounts by country, state and place.
+ * <p>
+ * The counters are seeded from the database on startup, kept up to date by the {@link AccountsInfoRegionCountEvent}s
+ * of committed transactions, and rebuilt from the database on a schedule to correct writes the entity listener cannot
+ * see, like bulk queries or other instances. Reading them does not access the database.
+ */
+@Component
+public class AccountsInfoRegionCounters {
+
+    private final Logger log = LoggerFactory.getLogger(AccountsInfoRegionCounters.class);
+
+    private final AccountsInfoRepository accountsInfoRepository;
+
+    private final boolean enabled;
+
+    private final Counter drift;
+
+    private volatile ConcurrentMap<AccountsInfo.Country, ConcurrentMap<String, ConcurrentMap<String, AtomicLong>>> counters =
+        new ConcurrentHashMap<>();
+
+    private volatile boolean seeded;
+
+    // guards the switch to rebuilt counters, deltas are added under the read lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // deltas added while a reconcile queries the database, to be added to the rebuilt counters
+    private ConcurrentMap<AccountsInfo.Country, ConcurrentMap<String, ConcurrentMap<String, AtomicLong>>> pending;
+
+    public AccountsInfoRegionCounters(
+        AccountsInfoRepository accountsInfoRepository,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.accountsInfoRepository = accountsInfoRepository;
+        this.enabled = applicationProperties.getRegionCounters().isEnabled();
+        this.drift =
+            Counter
+                .builder("accounts.region-counters.drift")
+                .description("Accounts miscounted by the region counters, corrected when reconciling")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return true once the counters have been seeded from the database.
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public void add(AccountsInfo.Country country, String state, String place, long delta) {
+        lock.readLock().lock();
+        try {
+            add(counters, country, state, place, delta);
+            if (pending != null) {
+                add(pending, country, state, place, delta);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the accounts entering or leaving a place, once their transaction has committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegionCount(AccountsInfoRegionCountEvent event) {
+        add(event.getCountry(), event.getState(), event.getPlace(), event.getDelta());
+    }
+
+    private static void add(
+        ConcurrentMap<AccountsInfo.Country, ConcurrentMap<String, ConcurrentMap<String, AtomicLong>>> counters,
+        AccountsInfo.Country country,
+        String state,
+        String place,
+        long delta
+    ) {
+        counters
+            .computeIfAbsent(country, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(state, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(place, key -> new AtomicLong())
+            .addAndGet(delta);
+    }
+
+    /**
+     * @return one row per place holding at least one account.
+     */
+    public List<CountOfUsersGroupedByStateAndPlaceDTO> snapshot() {
+        return snapshot(counters);
+    }
+
+    private static List<CountOfUsersGroupedByStateAndPlaceDTO> snapshot(
+        ConcurrentMap<AccountsInfo.Country, ConcurrentMap<String, ConcurrentMap<String, AtomicLong>>> counters
+    ) {
+        List<CountOfUsersGroupedByStateAndPlaceDTO> rows = new ArrayList<>();
+        counters.forEach(
+            (country, states) ->
+                states.forEach(
+                    (state, places) ->
+                        places.forEach(
+                            (place, count) -> {
+                                long value = count.get();
+                                if (value > 0) {
+                                    rows.add(new CountOfUsersGroupedByStateAndPlaceDTO(country, state, place, value));
+                                }
+                            }
+                        )
+                )
+        );
+        return rows;
+    }
+
+    /**
+     * Rebuilds the counters from the database.
+     * <p>
+     * Runs on startup, then every {@code application.region-counters.reconcile-interval-millis}. Deltas added while the
+     * database is queried are added to the rebuilt counters too, so they are not lost; a transaction committed just
+     * before the query but counted after it is counted twice, until the next reconcile.
+     */
+    @Scheduled(fixedDelayString = "${application.region-counters.reconcile-interval-millis:300000}")
+    public synchronized void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        setPending(new ConcurrentHashMap<>());
+        try {
+            ConcurrentMap<AccountsInfo.Country, ConcurrentMap<String, ConcurrentMap<String, AtomicLong>>> rebuilt =
+                new ConcurrentHashMap<>();
+            for (CountOfUsersGroupedByStateAndPlaceDTO row : accountsInfoRepository.countGroupedByCountryAndStateAndPlace()) {
+                add(rebuilt, row.getCountry(), row.getState(), row.getPlace(), row.getCountOfUsers());
+            }
+            lock.writeLock().lock();
+            try {
+                pending.forEach(
+                    (country, states) ->
+                        states.forEach(
+                            (state, places) -> places.forEach((place, delta) -> add(rebuilt, country, state, place, delta.get()))
+                        )
+                );
+                swap(rebuilt);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            setPending(null);
+        }
+    }
+
+    private void setPending(ConcurrentMap<AccountsInfo.Country, ConcurrentMap<String, ConcurrentMap<String, AtomicLong>>> pending) {
+        lock.writeLock().lock();
+        try {
+            this.pending = pending;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void swap(ConcurrentMap<AccountsInfo.Country, ConcurrentMap<String, ConcurrentMap<String, AtomicLong>>> rebuilt) {
+        long difference = 0;
+        for (CountOfUsersGroupedByStateAndPlaceDTO row : snapshot()) {
+            difference += Math.abs(row.getCountOfUsers() - count(rebuilt, row.getCountry(), row.getState(), row.getPlace()));
+        }
+        for (CountOfUsersGroupedByStateAndPlaceDTO row : snapshot(rebuilt)) {
+            if (count(counters, row.getCountry(), row.getState(), row.getPlace()) <= 0) {
+                difference += row.getCountOfUsers();
+            }
+        }
+        if (seeded && difference > 0) {
+            log.info("Region counters were off by {} accounts, reconciled with the database", difference);
+            drift.increment(difference);
+        }
+        counters = rebuilt;
+        seeded = true;
+    }
+
+    private static long count(
+        ConcurrentMap<AccountsInfo.Country, ConcurrentMap<String, ConcurrentMap<String, AtomicLong>>> counters,
+        AccountsInfo.Country country,
+        String state,
+        String place
+    ) {
+        ConcurrentMap<String, ConcurrentMap<String, AtomicLong>> states = counters.get(country);
+        ConcurrentMap<String, AtomicLong> places = states == null ? null : states.get(state);
+        AtomicLong count = places == null ? null : places.get(place);
+        return count == null ? 0 : count.get();
+    }
+}
@@ -0,0 +1,495 @@
+package com.rogers.accountmanager.service;
+
+import com.rogers.accountmanager.domain.AccountsInfo;
+import com.rogers.accountmanager.domain.AccountsInfoRegionCountEvent;
+import com.rogers.accountmanager.domain.AccountsInfo_;
+import com.rogers.accountmanager.repository.AccountsInfoRepository;
+import com.rogers.accountmanager.service.dto.AccountsInfoLookupDTO;
+import com.rogers.accountmanager.service.dto.AccountsInfoSummaryDTO;
+import com.rogers.accountmanager.service.dto.CountOfUsersGroupedByStateAndPlaceDTO;
+import com.rogers.accountmanager.service.geocoding.GeocodingService;
+import com.rogers.accountmanager.service.geocoding.PostalKey;
+import com.rogers.accountmanager.service.geocoding.PostalPlace;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service Implementation for managing {@link AccountsInfo}.
+ * <p>
+ * Geocoding may call zippopotam, so it always runs before the write transaction is opened: no database connection is
+ * held during the remote call. Reads use read-only transactions.
+ */
+@Service
+public class AccountsInfoService {
+
+    private final Logger log = LoggerFactory.getLogger(AccountsInfoService.class);
+
+    private final AccountsInfoRepository accountsInfoRepository;
+
+    private final GeocodingService geocodingService;
+
+    private final AccountsInfoEnrichmentService accountsInfoEnrichmentService;
+
+    private final AccountsInfoRegionCounters accountsInfoRegionCounters;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AccountsInfoService(
+        AccountsInfoRepository accountsInfoRepository,
+        GeocodingService geocodingService,
+        AccountsInfoEnrichmentService accountsInfoEnrichmentService,
+        AccountsInfoRegionCounters accountsInfoRegionCounters,
+        TransactionTemplate transactionTemplate,
+        EntityManager entityManager,
+        Validator validator,
+        ApplicationEventPublisher eventPublisher
+    ) {
+        this.accountsInfoRepository = accountsInfoRepository;
+        this.geocodingService = geocodingService;
+        this.accountsInfoEnrichmentService = accountsInfoEnrichmentService;
+        this.accountsInfoRegionCounters = accountsInfoRegionCounters;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Create an accountsInfo.
+     * <p>
+     * The account is created {@code ACTIVE} with its place, or {@code REQUESTED} when the enrichment is asynchronous.
+     *
+     * @param accountsInfo the entity to create.
+     * @return the persisted entity.
+     * @throws UnknownPostalCodeException if the postal code could not be geocoded.
+     */
+    public AccountsInfo create(AccountsInfo accountsInfo) {
+        log.debug("Request to create AccountsInfo : {}", accountsInfo);
+        // Spring Data takes a null version as the new-entity signal, AccountsInfo needs no Persistable#isNew: the
+        // account is persisted with one insert, never merged with a select by its assigned id first
+        accountsInfo.setVersion(null);
+        if (accountsInfoEnrichmentService.isAsync()) {
+            accountsInfo.setStatus(AccountsInfo.Status.REQUESTED);
+            return transactionTemplate.execute(
+                status -> {
+                    AccountsInfo result = accountsInfoRepository.save(accountsInfo);
+                    accountsInfoEnrichmentService.enrichAfterCommit(result.getId());
+                    return result;
+                }
+            );
+        }
+        accountsInfo.setStatus(AccountsInfo.Status.ACTIVE);
+        geocode(accountsInfo);
+        return transactionTemplate.execute(status -> accountsInfoRepository.save(accountsInfo));
+    }
+
+    /**
+     * Update an active accountsInfo, whatever its version.
+     *
+     * @param accountsInfo the new values of the entity.
+     * @return the updated entity, or empty if there is no entity with this id.
+     * @see #update(AccountsInfo, Predicate)
+     */
+    public Optional<AccountsInfo> update(AccountsInfo accountsInfo) {
+        return update(accountsInfo, version -> true);
+    }
+
+    /**
+     * Update an active accountsInfo by loading and modifying it in one transaction.
+     * <p>
+     * Only the changed columns are written. The postal code is geocoded again only when the country or the postal code
+     * changed: the transaction is then rolled back, the postal code geocoded outside of it and the update run again. The
+     * status is left unchanged, it is only changed by {@link #changeStatus(String, AccountsInfo.Status, AccountsInfo.Status)}.
+     *
+     * @param accountsInfo the new values of the entity; its version, when set, must be the current one.
+     * @param versionCheck tests the current version of the entity, e.g. against an {@code If-Match} header.
+     * @return the updated entity, or empty if there is no entity with this id.
+     * @throws AccountsInfoNotActiveException if the entity is not {@code ACTIVE}.
+     * @throws AccountsInfoModifiedException if the current version does not pass the version check.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the version of the new values is not the current one.
+     * @throws UnknownPostalCodeException if the postal code could not be geocoded.
+     */
+    public Optional<AccountsInfo> update(AccountsInfo accountsInfo, Predicate<Long> versionCheck) {
+        log.debug("Request to update AccountsInfo : {}", accountsInfo);
+        return modify(accountsInfo, versionCheck, AccountsInfoService::copyFields);
+    }
+
+    /**
+     * Partially update an active accountsInfo: only the given fields are changed, to their value in {@code accountsInfo}.
+     * <p>
+     * Like {@link #update(AccountsInfo, Predicate)}, only the changed columns are written and the postal code is only
+     * geocoded again when the country or the postal code changed.
+     *
+     * @param accountsInfo the new values of the entity.
+     * @param fields the names of the fields to change, a field named here and {@code null} in {@code accountsInfo} is cleared.
+     * @param versionCheck tests the current version of the entity, e.g. against an {@code If-Match} header.
+     * @return the updated entity, or empty if there is no entity with this id.
+     * @throws ConstraintViolationException if the updated entity is not valid.
+     * @throws AccountsInfoNotActiveException if the entity is not {@code ACTIVE}.
+     * @throws AccountsInfoModifiedException if the current version does not pass the version check.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the version of the new values is not the current one.
+     * @throws UnknownPostalCodeException if the postal code could not be geocoded.
+     */
+    public Optional<AccountsInfo> partialUpdate(AccountsInfo accountsInfo, Set<String> fields, Predicate<Long> versionCheck) {
+        log.debug("Request to partially update AccountsInfo : {}, {}", fields, accountsInfo);
+        return modify(accountsInfo, versionCheck, (from, to) -> copyFields(from, to, fields));
+    }
+
+    private Optional<AccountsInfo> modify(
+        AccountsInfo accountsInfo,
+        Predicate<Long> versionCheck,
+        BiConsumer<AccountsInfo, AccountsInfo> merge
+    ) {
+        PostalKey location = null;
+        PostalPlace place = null;
+        while (true) {
+            PostalKey resolvedLocation = location;
+            PostalPlace resolvedPlace = place;
+            try {
+                return transactionTemplate.execute(
+                    status -> modifyInTransaction(accountsInfo, versionCheck, merge, resolvedLocation, resolvedPlace)
+                );
+            } catch (LocationChangedException e) {
+                location = e.location;
+                place =
+                    geocodingService
+                        .resolve(location.getCountry(), location.getPostalCode())
+                        .orElseThrow(UnknownPostalCodeException::new);
+            }
+        }
+    }
+
+    // merges the new values into the managed entity, which is flushed on commit
+    private Optional<AccountsInfo> modifyInTransaction(
+        AccountsInfo accountsInfo,
+        Predicate<Long> versionCheck,
+        BiConsumer<AccountsInfo, AccountsInfo> merge,
+        PostalKey resolvedLocation,
+        PostalPlace resolvedPlace
+    ) {
+        Optional<AccountsInfo> existing = accountsInfoRepository.findById(accountsInfo.getId());
+        if (!existing.isPresent()) {
+            return existing;
+        }
+        AccountsInfo current = existing.get();
+        if (!versionCheck.test(current.getVersion())) {
+            throw new AccountsInfoModifiedException();
+        }
+        if (accountsInfo.getVersion() != null && !accountsInfo.getVersion().equals(current.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(AccountsInfo.class, current.getId());
+        }
+        if (current.getStatus() != AccountsInfo.Status.ACTIVE) {
+            throw new AccountsInfoNotActiveException();
+        }
+        PostalKey previousLocation = new PostalKey(current.getCountry(), current.getPostalCode());
+        merge.accept(accountsInfo, current);
+        // validated before the flush on commit, whose violations would not be told from other commit failures
+        Set<ConstraintViolation<AccountsInfo>> violations = validator.validate(current);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        PostalKey location = new PostalKey(current.getCountry(), current.getPostalCode());
+        if (!location.equals(previousLocation)) {
+            // the transaction is rolled back, nothing was flushed
+            if (!location.equals(resolvedLocation)) {
+                throw new LocationChangedException(location);
+            }
+            resolvedPlace.applyTo(current);
+        }
+        return existing;
+    }
+
+    // the fields set by clients; the status is only changed by changeStatus and deactivateByState
+    private static void copyFields(AccountsInfo from, AccountsInfo to) {
+        to.setName(from.getName());
+        to.setEmail(from.getEmail());
+        to.setCountry(from.getCountry());
+        to.setPostalCode(from.getPostalCode());
+        to.setAge(from.getAge());
+        to.setSecurityPin(from.getSecurityPin());
+    }
+
+    // the fields set by clients, among the given ones
+    private static void copyFields(AccountsInfo from, AccountsInfo to, Set<String> fields) {
+        if (fields.contains(AccountsInfo_.NAME)) {
+            to.setName(from.getName());
+        }
+        if (fields.contains(AccountsInfo_.EMAIL)) {
+            to.setEmail(from.getEmail());
+        }
+        if (fields.contains(AccountsInfo_.COUNTRY)) {
+            to.setCountry(from.getCountry());
+        }
+        if (fields.contains(AccountsInfo_.POSTAL_CODE)) {
+            to.setPostalCode(from.getPostalCode());
+        }
+        if (fields.contains(AccountsInfo_.AGE)) {
+            to.setAge(from.getAge());
+        }
+        if (fields.contains(AccountsInfo_.SECURITY_PIN)) {
+            to.setSecurityPin(from.getSecurityPin());
+        }
+    }
+
+    /**
+     * Export every accountsInfo, ordered by id.
+     * <p>
+     * Rows are streamed from the database cursor and the persistence context is cleared every
+     * {@link AccountsInfoRepository#STREAM_FETCH_SIZE} entities, so memory does not grow with the table.
+     *
+     * @param consumer called with each entity; entities are detached once their chunk is exported.
+     * @return the number of exported entities.
+     */
+    public long exportAll(Consumer<AccountsInfo> consumer) {
+        log.debug("Request to export all AccountsInfos");
+        return readOnlyTransactionTemplate.execute(
+            status -> {
+                long count = 0;
+                try (Stream<AccountsInfo> accountsInfos = accountsInfoRepository.streamAll()) {
+                    Iterator<AccountsInfo> iterator = accountsInfos.iterator();
+                    while (iterator.hasNext()) {
+                        consumer.accept(iterator.next());
+                        if (++count % AccountsInfoRepository.STREAM_FETCH_SIZE == 0) {
+                            entityManager.clear();
+                        }
+                    }
+                }
+                return count;
+            }
+        );
+    }
+
+    /**
+     * Get one accountsInfo by id.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<AccountsInfo> findOne(String id) {
+        log.debug("Request to get AccountsInfo : {}", id);
+        return accountsInfoRepository.findById(id);
+    }
+
+    /**
+     * Get the summary of one accountsInfo by id, from the second-level cache when it holds the entity.
+     *
+     * @param id the id of the entity.
+     * @return the summary.
+     */
+    @Transactional(readOnly = true)
+    public Optional<AccountsInfoSummaryDTO> findSummary(String id) {
+        log.debug("Request to get AccountsInfo summary : {}", id);
+        return accountsInfoRepository.findById(id).map(AccountsInfoSummaryDTO::new);
+    }
+
+    /**
+     * Get the summary of one accountsInfo by email, from the natural-id cache when it holds the email.
+     *
+     * @param email the email of the entity.
+     * @return the summary.
+     */
+    @Transactional(readOnly = true)
+    public Optional<AccountsInfoSummaryDTO> findSummaryByEmail(String email) {
+        log.debug("Request to get AccountsInfo summary by email : {}", email);
+        return accountsInfoRepository.findByEmail(email).map(AccountsInfoSummaryDTO::new);
+    }
+
+    /**
+     * Get the summaries of accountsInfos by id, in one query.
+     *
+     * @param ids the ids of the entities, duplicates included.
+     * @return one lookup per id, in the same order.
+     */
+    @Transactional(readOnly = true)
+    public List<AccountsInfoLookupDTO> findSummaries(List<String> ids) {
+        log.debug("Request to get AccountsInfo summaries : {}", ids);
+        Set<String> distinctIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, AccountsInfoSummaryDTO> summaries = new HashMap<>();
+        if (!distinctIds.isEmpty()) {
+            for (AccountsInfo found : accountsInfoRepository.findAllById(distinctIds)) {
+                summaries.put(found.getId(), new AccountsInfoSummaryDTO(found));
+            }
+        }
+        return ids.stream().map(id -> new AccountsInfoLookupDTO(id, summaries.get(id))).collect(Collectors.toList());
+    }
+
+    /**
+     * Get the version of one accountsInfo by id.
+     * <p>
+     * The version is read from the second-level cache when it holds the entity, else by a query selecting the version
+     * only: the entity is not loaded.
+     *
+     * @param id the id of the entity.
+     * @return the version.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(String id) {
+        log.debug("Request to get AccountsInfo version : {}", id);
+        if (entityManager.getEntityManagerFactory().getCache().contains(AccountsInfo.class, id)) {
+            return accountsInfoRepository.findById(id).map(AccountsInfo::getVersion);
+        }
+        return accountsInfoRepository.findVersionById(id);
+    }
+
+    /**
+     * Count the geocoded accountsInfos by country, state and place.
+     * <p>
+     * Not transactional: counts come from the in-memory {@link AccountsInfoRegionCounters}, the database is only
+     * queried until they are seeded, or when they are disabled.
+     *
+     * @return one row per place.
+     */
+    public List<CountOfUsersGroupedByStateAndPlaceDTO> countGroupedByCountryAndStateAndPlace() {
+        log.debug("Request to count AccountsInfos by country, state and place");
+        if (accountsInfoRegionCounters.isSeeded()) {
+            return accountsInfoRegionCounters.snapshot();
+        }
+        return accountsInfoRepository.countGroupedByCountryAndStateAndPlace();
+    }
+
+    /**
+     * Change the status of an accountsInfo, if it still has the expected one.
+     * <p>
+     * The status is compared and set by one update statement, the entity is not loaded: of concurrent transitions from
+     * the same status, only one succeeds.
+     *
+     * @param id the id of the entity.
+     * @param expected the status the entity must have.
+     * @param status the new status.
+     * @return false if there is no entity with this id.
+     * @throws AccountsInfoStatusTransitionException if the entity cannot go from the expected status to the new one.
+     * @throws AccountsInfoStatusConflictException if the entity does not have the expected status.
+     */
+    @Transactional
+    public boolean changeStatus(String id, AccountsInfo.Status expected, AccountsInfo.Status status) {
+        log.debug("Request to change the status of AccountsInfo : {} from {} to {}", id, expected, status);
+        if (!expected.canChangeTo(status)) {
+            throw new AccountsInfoStatusTransitionException();
+        }
+        if (accountsInfoRepository.compareAndSetStatus(id, expected, status)) {
+            return true;
+        }
+        if (!accountsInfoRepository.existsById(id)) {
+            return false;
+        }
+        throw new AccountsInfoStatusConflictException();
+    }
+
+    /**
+     * Deactivate all the active accountsInfos of a state, in one update statement.
+     * <p>
+     * Only the inactive accountsInfos of the state are then evicted from the second-level cache, selected by id.
+     *
+     * @param country the country of the state.
+     * @param state the state.
+     * @return the number of deactivated entities.
+     */
+    @Transactional
+    public int deactivateByState(AccountsInfo.Country country, String state) {
+        log.debug("Request to deactivate the AccountsInfos of : {} {}", country, state);
+        return accountsInfoRepository.deactivateByCountryAndState(country, state);
+    }
+
+    /**
+     * Delete an inactive accountsInfo, given its security pin.
+     * <p>
+     * The status and the pin are checked by the delete statement itself; only when it deletes nothing is the entity
+     * looked up, to tell a missing one from one that cannot be deleted. The region of the deleted entity is uncounted
+     * when it was in the second-level cache, otherwise by the next reconcile of the region counters.
+     *
+     * @param id the id of the entity.
+     * @param securityPin the security pin of the entity.
+     * @return false if there is no entity with this id.
+     * @throws AccountsInfoNotDeletableException if the entity is not {@code INACTIVE} or the security pin does not match.
+     */
+    @Transactional
+    public boolean deleteInactive(String id, Integer securityPin) {
+        log.debug("Request to delete inactive AccountsInfo : {}", id);
+        Optional<AccountsInfo> cached = accountsInfoRepository.findCachedById(id);
+        if (accountsInfoRepository.deleteIfInactive(id, securityPin)) {
+            cached
+                .filter(accountsInfo -> accountsInfo.getState() != null && accountsInfo.getPlace() != null)
+                .ifPresent(
+                    accountsInfo ->
+                        eventPublisher.publishEvent(
+                            new AccountsInfoRegionCountEvent(
+                                accountsInfo.getCountry(),
+                                accountsInfo.getState(),
+                                accountsInfo.getPlace(),
+                                -1
+                            )
+                        )
+                );
+            return true;
+        }
+        if (!accountsInfoRepository.existsById(id)) {
+            return false;
+        }
+        throw new AccountsInfoNotDeletableException();
+    }
+
+    /**
+     * Delete the accountsInfo by id.
+     *
+     * @param id the id of the entity.
+     */
+    @Transactional
+    public void delete(String id) {
+        log.debug("Request to delete AccountsInfo : {}", id);
+        accountsInfoRepository.deleteById(id);
+    }
+
+    // sets state, longitude, latitude and place resolved by the geocoder (embedded gazetteer, postalLookups cache or zippo api)
+    private void geocode(AccountsInfo accountsInfo) {
+        PostalPlace place = geocodingService
+            .resolve(accountsInfo.getCountry(), accountsInfo.getPostalCode())
+            .orElseThrow(UnknownPostalCodeException::new);
+        place.applyTo(accountsInfo);
+    }
+
+    // rolls back an update moving the account, to geocode its new postal code outside of the transaction
+    private static final class LocationChangedException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final PostalKey location;
+
+        private LocationChangedException(PostalKey location) {
+            super(null, null, false, false);
+            this.location = location;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.rogers.accountmanager.service;
+
+public class AccountsInfoStatusConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AccountsInfoStatusConflictException() {
+        super("Status was changed");
+    }
+}
@@ -0,0 +1,10 @@
+package com.rogers.accountmanager.service;
+
+public class AccountsInfoStatusTransitionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AccountsInfoStatusTransitionException() {
+        super("Invalid status transition");
+    }
+}
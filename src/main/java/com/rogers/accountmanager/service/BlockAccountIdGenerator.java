@@ -0,0 +1,118 @@
+package com.rogers.accountmanager.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link AccountIdGenerator} handing out base-36 ids from blocks of consecutive values reserved by this node.
+ * <p>
+ * A node reserves {@code blockSize} values at once from a {@link BlockSource}, and each thread takes
+ * {@code stripeSize} values at once from the block of its node with a single atomic add, so most ids are allocated
+ * from a thread-local stripe without any shared write. Values reserved but not handed out, when a node stops or a
+ * thread dies, are left as gaps.
+ * <p>
+ * Ids are 6 characters long and start at {@code g00000}: ids of accounts created before this generator were 6
+ * hexadecimal characters, so they can never collide with it.
+ */
+public class BlockAccountIdGenerator implements AccountIdGenerator {
+
+    /**
+     * The first value of the id space, {@code g00000} in base 36.
+     */
+    public static final long FIRST_VALUE = 16L * 36 * 36 * 36 * 36 * 36;
+
+    /**
+     * The first value too large for 6 base-36 characters.
+     */
+    public static final long END_VALUE = 36L * 36 * 36 * 36 * 36 * 36;
+
+    /**
+     * Reserves blocks of values for this node.
+     */
+    @FunctionalInterface
+    public interface BlockSource {
+        /**
+         * Reserve consecutive values, never reserved before by any node.
+         *
+         * @param size the number of values.
+         * @return the first reserved value.
+         */
+        long reserve(int size);
+    }
+
+    private static final Block EXHAUSTED = new Block(0, 0);
+
+    private final BlockSource blockSource;
+
+    private final int blockSize;
+
+    private final int stripeSize;
+
+    private final ThreadLocal<Stripe> stripes = ThreadLocal.withInitial(Stripe::new);
+
+    private volatile Block block = EXHAUSTED;
+
+    public BlockAccountIdGenerator(BlockSource blockSource, int blockSize, int stripeSize) {
+        if (stripeSize < 1 || blockSize < stripeSize) {
+            throw new IllegalArgumentException("Stripe size must be between 1 and the block size " + blockSize + ", not " + stripeSize);
+        }
+        this.blockSource = blockSource;
+        this.blockSize = blockSize;
+        this.stripeSize = stripeSize;
+    }
+
+    @Override
+    public String nextId() {
+        Stripe stripe = stripes.get();
+        if (stripe.next == stripe.end) {
+            takeStripe(stripe);
+        }
+        return format(stripe.next++);
+    }
+
+    private void takeStripe(Stripe stripe) {
+        while (true) {
+            Block current = block;
+            long start = current.next.getAndAdd(stripeSize);
+            if (start < current.end) {
+                stripe.next = start;
+                stripe.end = Math.min(start + stripeSize, current.end);
+                return;
+            }
+            synchronized (this) {
+                // another thread may have reserved a new block meanwhile
+                if (block == current) {
+                    long first = blockSource.reserve(blockSize);
+                    block = new Block(first, first + blockSize);
+                }
+            }
+        }
+    }
+
+    static String format(long value) {
+        if (value < FIRST_VALUE || value >= END_VALUE) {
+            throw new IllegalStateException("Account id value out of range: " + value);
+        }
+        return Long.toString(value, 36);
+    }
+
+    // values of a block not taken yet by a thread
+    private static final class Block {
+
+        private final AtomicLong next;
+
+        private final long end;
+
+        private Block(long first, long end) {
+            this.next = new AtomicLong(first);
+            this.end = end;
+        }
+    }
+
+    // values of a block taken by one thread, only ever read and written by that thread
+    private static final class Stripe {
+
+        private long next;
+
+        private long end;
+    }
+}
@@ -0,0 +1,10 @@
+package com.rogers.accountmanager.service;
+
+public class UnknownPostalCodeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UnknownPostalCodeException() {
+        super("Unknown postal code");
+    }
+}
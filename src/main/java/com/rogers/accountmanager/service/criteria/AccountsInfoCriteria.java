@@ -0,0 +1,212 @@
+package com.rogers.accountmanager.service.criteria;
+
+import com.rogers.accountmanager.domain.AccountsInfo;
+import java.io.Serializable;
+import java.util.Objects;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.IntegerFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the {@link com.rogers.accountmanager.domain.AccountsInfo} entity. This class is used
+ * in {@link com.rogers.accountmanager.web.rest.AccountsInfoResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /accounts-infos?country.equals=US&status.equals=ACTIVE&age.greaterThanOrEqual=18&age.lessThanOrEqual=65}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+public class AccountsInfoCriteria implements Serializable, Criteria {
+
+    /**
+     * Class for filtering Country
+     */
+    public static class CountryFilter extends Filter<AccountsInfo.Country> {
+
+        public CountryFilter() {}
+
+        public CountryFilter(CountryFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public CountryFilter copy() {
+            return new CountryFilter(this);
+        }
+    }
+
+    /**
+     * Class for filtering Status
+     */
+    public static class StatusFilter extends Filter<AccountsInfo.Status> {
+
+        public StatusFilter() {}
+
+        public StatusFilter(StatusFilter filter) {
+            super(filter);
+        }
+
+        @Override
+        public StatusFilter copy() {
+            return new StatusFilter(this);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private CountryFilter country;
+
+    private StringFilter state;
+
+    private StringFilter place;
+
+    private StatusFilter status;
+
+    private IntegerFilter postalCode;
+
+    private IntegerFilter age;
+
+    public AccountsInfoCriteria() {}
+
+    public AccountsInfoCriteria(AccountsInfoCriteria other) {
+        this.country = other.country == null ? null : other.country.copy();
+        this.state = other.state == null ? null : other.state.copy();
+        this.place = other.place == null ? null : other.place.copy();
+        this.status = other.status == null ? null : other.status.copy();
+        this.postalCode = other.postalCode == null ? null : other.postalCode.copy();
+        this.age = other.age == null ? null : other.age.copy();
+    }
+
+    @Override
+    public AccountsInfoCriteria copy() {
+        return new AccountsInfoCriteria(this);
+    }
+
+    public CountryFilter getCountry() {
+        return country;
+    }
+
+    public CountryFilter country() {
+        if (country == null) {
+            country = new CountryFilter();
+        }
+        return country;
+    }
+
+    public void setCountry(CountryFilter country) {
+        this.country = country;
+    }
+
+    public StringFilter getState() {
+        return state;
+    }
+
+    public StringFilter state() {
+        if (state == null) {
+            state = new StringFilter();
+        }
+        return state;
+    }
+
+    public void setState(StringFilter state) {
+        this.state = state;
+    }
+
+    public StringFilter getPlace() {
+        return place;
+    }
+
+    public StringFilter place() {
+        if (place == null) {
+            place = new StringFilter();
+        }
+        return place;
+    }
+
+    public void setPlace(StringFilter place) {
+        this.place = place;
+    }
+
+    public StatusFilter getStatus() {
+        return status;
+    }
+
+    public StatusFilter status() {
+        if (status == null) {
+            status = new StatusFilter();
+        }
+        return status;
+    }
+
+    public void setStatus(StatusFilter status) {
+        this.status = status;
+    }
+
+    public IntegerFilter getPostalCode() {
+        return postalCode;
+    }
+
+    public IntegerFilter postalCode() {
+        if (postalCode == null) {
+            postalCode = new IntegerFilter();
+        }
+        return postalCode;
+    }
+
+    public void setPostalCode(IntegerFilter postalCode) {
+        this.postalCode = postalCode;
+    }
+
+    public IntegerFilter getAge() {
+        return age;
+    }
+
+    public IntegerFilter age() {
+        if (age == null) {
+            age = new IntegerFilter();
+        }
+        return age;
+    }
+
+    public void setAge(IntegerFilter age) {
+        this.age = age;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final AccountsInfoCriteria that = (AccountsInfoCriteria) o;
+        return (
+            Objects.equals(country, that.country) &&
+            Objects.equals(state, that.state) &&
+            Objects.equals(place, that.place) &&
+            Objects.equals(status, that.status) &&
+            Objects.equals(postalCode, that.postalCode) &&
+            Objects.equals(age, that.age)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(country, state, place, status, postalCode, age);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AccountsInfoCriteria{" +
+            (country != null ? "country=" + country + ", " : "") +
+            (state != null ? "state=" + state + ", " : "") +
+            (place != null ? "place=" + place + ", " : "") +
+            (status != null ? "status=" + status + ", " : "") +
+            (postalCode != null ? "postalCode=" + postalCode + ", " : "") +
+            (age != null ? "age=" + age + ", " : "") +
+            "}";
+    }
+}
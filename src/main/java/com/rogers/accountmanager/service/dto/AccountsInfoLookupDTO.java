@@ -0,0 +1,61 @@
+package com.rogers.accountmanager.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the lookup of one account id: its summary, or {@code found = false} when there is no such account.
+ */
+public class AccountsInfoLookupDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+
+    private boolean found;
+
+    private AccountsInfoSummaryDTO accountsInfo;
+
+    public AccountsInfoLookupDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public AccountsInfoLookupDTO(String id, AccountsInfoSummaryDTO accountsInfo) {
+        this.id = id;
+        this.found = accountsInfo != null;
+        this.accountsInfo = accountsInfo;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+
+    public AccountsInfoSummaryDTO getAccountsInfo() {
+        return accountsInfo;
+    }
+
+    public void setAccountsInfo(AccountsInfoSummaryDTO accountsInfo) {
+        this.accountsInfo = accountsInfo;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AccountsInfoLookupDTO{" +
+            "id='" + id + "'" +
+            ", found=" + found +
+            ", accountsInfo=" + accountsInfo +
+            "}";
+    }
+}
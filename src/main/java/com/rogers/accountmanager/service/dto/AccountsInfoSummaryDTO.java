@@ -0,0 +1,151 @@
+package com.rogers.accountmanager.service.dto;
+
+import com.rogers.accountmanager.domain.AccountsInfo;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO representing an account in listings and lookups, without its contact details nor its security pin.
+ * <p>
+ * Listings build it with constructor expressions, so only its columns are fetched and no managed entity is created.
+ * Lookups by id or email build it from the entity, which is served by the second-level cache.
+ */
+public class AccountsInfoSummaryDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+
+    private String name;
+
+    private AccountsInfo.Country country;
+
+    private String state;
+
+    private String place;
+
+    private AccountsInfo.Status status;
+
+    private Long version;
+
+    public AccountsInfoSummaryDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public AccountsInfoSummaryDTO(
+        String id,
+        String name,
+        AccountsInfo.Country country,
+        String state,
+        String place,
+        AccountsInfo.Status status,
+        Long version
+    ) {
+        this.id = id;
+        this.name = name;
+        this.country = country;
+        this.state = state;
+        this.place = place;
+        this.status = status;
+        this.version = version;
+    }
+
+    public AccountsInfoSummaryDTO(AccountsInfo accountsInfo) {
+        this(
+            accountsInfo.getId(),
+            accountsInfo.getName(),
+            accountsInfo.getCountry(),
+            accountsInfo.getState(),
+            accountsInfo.getPlace(),
+            accountsInfo.getStatus(),
+            accountsInfo.getVersion()
+        );
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public AccountsInfo.Country getCountry() {
+        return country;
+    }
+
+    public void setCountry(AccountsInfo.Country country) {
+        this.country = country;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getPlace() {
+        return place;
+    }
+
+    public void setPlace(String place) {
+        this.place = place;
+    }
+
+    public AccountsInfo.Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(AccountsInfo.Status status) {
+        this.status = status;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AccountsInfoSummaryDTO)) {
+            return false;
+        }
+        AccountsInfoSummaryDTO that = (AccountsInfoSummaryDTO) o;
+        return id != null && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AccountsInfoSummaryDTO{" +
+            "id='" + id + "'" +
+            ", name='" + name + "'" +
+            ", country='" + country + "'" +
+            ", state='" + state + "'" +
+            ", place='" + place + "'" +
+            ", status='" + status + "'" +
+            ", version=" + version +
+            "}";
+    }
+}
@@ -1,17 +1,29 @@
 package com.rogers.accountmanager.service.dto;
 
+import com.rogers.accountmanager.domain.AccountsInfo;
+
 public class CountOfUsersGroupedByStateAndPlaceDTO {
 
+    private AccountsInfo.Country country;
     private String state;
     private String place;
     private Long countOfUsers;
 
-    public CountOfUsersGroupedByStateAndPlaceDTO(String state, String place, Long countOfUsers) {
+    public CountOfUsersGroupedByStateAndPlaceDTO(AccountsInfo.Country country, String state, String place, Long countOfUsers) {
+        this.country = country;
         this.state = state;
         this.place = place;
         this.countOfUsers = countOfUsers;
     }
 
+    public AccountsInfo.Country getCountry() {
+        return country;
+    }
+
+    public void setCountry(AccountsInfo.Country country) {
+        this.country = country;
+    }
+
     public String getState() {
         return state;
     }
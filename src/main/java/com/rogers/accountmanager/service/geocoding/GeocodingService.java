@@ -0,0 +1,137 @@
+package com.rogers.accountmanager.service.geocoding;
+
+import com.rogers.accountmanager.domain.AccountsInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service resolving the place of a (country, postal code) pair.
+ * <p>
+ * Lookups go to the embedded {@link PostalGazetteer} first, then to the {@link #POSTAL_LOOKUPS_CACHE} cache, and only
+ * then to zippopotam. Postal codes unknown upstream are cached as {@link PostalPlace#UNKNOWN}. Concurrent misses on
+ * the same postal code share a single zippopotam call.
+ */
+@Service
+public class GeocodingService {
+
+    public static final String POSTAL_LOOKUPS_CACHE = "postalLookups";
+
+    private final PostalGazetteer postalGazetteer;
+
+    private final ZippopotamClient zippopotamClient;
+
+    private final Cache postalLookups;
+
+    private final ConcurrentMap<PostalKey, CompletableFuture<PostalPlace>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter gazetteerHits;
+    private final Counter gazetteerMisses;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter coalesced;
+
+    public GeocodingService(
+        PostalGazetteer postalGazetteer,
+        ZippopotamClient zippopotamClient,
+        CacheManager cacheManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.postalGazetteer = postalGazetteer;
+        this.zippopotamClient = zippopotamClient;
+        this.postalLookups = Objects.requireNonNull(cacheManager.getCache(POSTAL_LOOKUPS_CACHE));
+        this.gazetteerHits = counter(meterRegistry, "geocoding.gazetteer.gets", "hit");
+        this.gazetteerMisses = counter(meterRegistry, "geocoding.gazetteer.gets", "miss");
+        this.cacheHits = counter(meterRegistry, "geocoding.cache.gets", "hit");
+        this.cacheMisses = counter(meterRegistry, "geocoding.cache.gets", "miss");
+        this.coalesced =
+            Counter
+                .builder("geocoding.upstream.coalesced")
+                .description("Postal lookups that waited on an identical in-flight zippopotam call")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resolves the place of a postal code.
+     *
+     * @param country the country.
+     * @param postalCode the postal code.
+     * @return the place, or empty if the postal code is unknown.
+     * @throws org.springframework.web.client.RestClientException if zippopotam could not be reached.
+     */
+    public Optional<PostalPlace> resolve(AccountsInfo.Country country, Integer postalCode) {
+        Optional<PostalPlace> knownPlace = postalGazetteer.lookup(country, postalCode);
+        if (knownPlace.isPresent()) {
+            gazetteerHits.increment();
+            return knownPlace;
+        }
+        gazetteerMisses.increment();
+
+        PostalKey key = new PostalKey(country, postalCode);
+        Cache.ValueWrapper cached = postalLookups.get(key);
+        if (cached != null) {
+            cacheHits.increment();
+            return toOptional((PostalPlace) cached.get());
+        }
+        cacheMisses.increment();
+
+        return toOptional(fetchOnce(key));
+    }
+
+    /**
+     * Fetches a postal code from zippopotam, sharing the call with every concurrent caller asking for the same key.
+     */
+    private PostalPlace fetchOnce(PostalKey key) {
+        CompletableFuture<PostalPlace> call = new CompletableFuture<>();
+        CompletableFuture<PostalPlace> inFlightCall = inFlight.putIfAbsent(key, call);
+        if (inFlightCall != null) {
+            coalesced.increment();
+            return await(inFlightCall);
+        }
+        try {
+            // a previous leader may have cached the result between our cache miss and now
+            Cache.ValueWrapper cached = postalLookups.get(key);
+            PostalPlace place;
+            if (cached != null) {
+                place = (PostalPlace) cached.get();
+            } else {
+                place = zippopotamClient.fetch(key);
+                postalLookups.put(key, place);
+            }
+            call.complete(place);
+            return place;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static PostalPlace await(CompletableFuture<PostalPlace> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static Optional<PostalPlace> toOptional(PostalPlace place) {
+        return place == null || place.isUnknown() ? Optional.empty() : Optional.of(place);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder(name).tag("result", result).register(meterRegistry);
+    }
+}
@@ -0,0 +1,131 @@
+package com.rogers.accountmanager.service.geocoding;
+
+import com.rogers.accountmanager.config.ApplicationProperties;
+import com.rogers.accountmanager.domain.AccountsInfo;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Embedded, memory-mapped (country, postal code) index used before falling back to the remote geocoder.
+ * <p>
+ * The index is compiled from a CSV dump with {@link PostalGazetteerBuilder}. A classpath resource packed in the jar
+ * cannot be mapped directly, so it is first copied to a temporary file.
+ */
+@Component
+public class PostalGazetteer {
+
+    private final Logger log = LoggerFactory.getLogger(PostalGazetteer.class);
+
+    private final ByteBuffer index;
+
+    private final int recordCount;
+
+    private final int stringTableOffset;
+
+    public PostalGazetteer(ApplicationProperties applicationProperties, ResourceLoader resourceLoader) throws IOException {
+        ApplicationProperties.Geocoding.Gazetteer gazetteer = applicationProperties.getGeocoding().getGazetteer();
+        Resource resource = resourceLoader.getResource(gazetteer.getLocation());
+        if (!gazetteer.isEnabled() || !resource.exists()) {
+            log.warn("Postal gazetteer not available at {}, every lookup goes to the remote geocoder", gazetteer.getLocation());
+            this.index = null;
+            this.recordCount = 0;
+            this.stringTableOffset = 0;
+            return;
+        }
+        this.index = map(resource);
+        if (index.getInt(0) != PostalGazetteerFormat.MAGIC || index.getInt(4) != PostalGazetteerFormat.VERSION) {
+            throw new IllegalStateException("Invalid postal gazetteer index: " + gazetteer.getLocation());
+        }
+        this.recordCount = index.getInt(8);
+        this.stringTableOffset = index.getInt(12);
+        log.info("Loaded postal gazetteer with {} postal codes from {}", recordCount, gazetteer.getLocation());
+    }
+
+    /**
+     * Looks up a postal code in the index.
+     *
+     * @param country the account country.
+     * @param postalCode the account postal code.
+     * @return the place, or empty if the index does not know the postal code.
+     */
+    public Optional<PostalPlace> lookup(AccountsInfo.Country country, Integer postalCode) {
+        if (index == null || country == null || postalCode == null || postalCode < 0) {
+            return Optional.empty();
+        }
+        long key = PostalGazetteerFormat.key(country.name(), postalCode);
+        int low = 0;
+        int high = recordCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int record = PostalGazetteerFormat.HEADER_SIZE + mid * PostalGazetteerFormat.RECORD_SIZE;
+            long midKey = index.getLong(record + PostalGazetteerFormat.KEY_OFFSET);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return Optional.of(read(record));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    private PostalPlace read(int record) {
+        String placeName = string(
+            index.getInt(record + PostalGazetteerFormat.PLACE_OFFSET),
+            index.getShort(record + PostalGazetteerFormat.PLACE_LENGTH_OFFSET)
+        );
+        String state = string(
+            index.getInt(record + PostalGazetteerFormat.STATE_OFFSET),
+            index.getShort(record + PostalGazetteerFormat.STATE_LENGTH_OFFSET)
+        );
+        return new PostalPlace(
+            placeName,
+            state,
+            index.getDouble(record + PostalGazetteerFormat.LATITUDE_OFFSET),
+            index.getDouble(record + PostalGazetteerFormat.LONGITUDE_OFFSET)
+        );
+    }
+
+    private String string(int offset, int length) {
+        byte[] bytes = new byte[length];
+        int start = stringTableOffset + offset;
+        for (int i = 0; i < length; i++) {
+            bytes[i] = index.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer map(Resource resource) throws IOException {
+        Path path;
+        if (resource.isFile()) {
+            path = resource.getFile().toPath();
+        } else {
+            path = Files.createTempFile("postal-gazetteer", ".idx");
+            path.toFile().deleteOnExit();
+            try (InputStream in = resource.getInputStream()) {
+                Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
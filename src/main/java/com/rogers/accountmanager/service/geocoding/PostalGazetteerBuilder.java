@@ -0,0 +1,166 @@
+package com.rogers.accountmanager.service.geocoding;
+
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compiles a CSV postal-code dump into the binary index read by {@link PostalGazetteer}.
+ * <p>
+ * The input uses {@code ;} as separator and starts with a header line, in the same way as the Liquibase CSV files:
+ * <pre>
+ * country;postal_code;place;state;latitude;longitude
+ * US;90210;Beverly Hills;CA;34.0901;-118.4065
+ * </pre>
+ * When a (country, postal code) pair appears more than once, the first line wins, which matches the first entry of
+ * the {@code places} array returned by zippopotam.
+ * <p>
+ * Usage: {@code PostalGazetteerBuilder <input.csv> <output.idx>}
+ */
+public final class PostalGazetteerBuilder {
+
+    private static final String SEPARATOR = ";";
+
+    private final Map<Long, Entry> entries = new TreeMap<>();
+
+    private final Map<String, Integer> stringOffsets = new HashMap<>();
+
+    private final List<byte[]> strings = new ArrayList<>();
+
+    private int stringTableSize;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: PostalGazetteerBuilder <input.csv> <output.idx>");
+            System.exit(1);
+        }
+        PostalGazetteerBuilder builder = new PostalGazetteerBuilder();
+        int lines = builder.read(Paths.get(args[0]));
+        builder.write(Paths.get(args[1]));
+        System.out.println("Indexed " + builder.size() + " postal codes out of " + lines + " lines into " + args[1]);
+    }
+
+    /**
+     * Reads a CSV dump, adding every line to the index.
+     *
+     * @param csv the CSV file to read.
+     * @return the number of data lines read.
+     * @throws IOException if the file cannot be read.
+     */
+    public int read(Path csv) throws IOException {
+        int lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String line = reader.readLine(); // header
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                lines++;
+                String[] columns = line.split(SEPARATOR, -1);
+                if (columns.length != 6) {
+                    throw new IllegalArgumentException("Line " + (lines + 1) + " must have 6 columns: " + line);
+                }
+                add(
+                    columns[0].trim(),
+                    Integer.parseInt(columns[1].trim()),
+                    columns[2].trim(),
+                    columns[3].trim(),
+                    Double.parseDouble(columns[4].trim()),
+                    Double.parseDouble(columns[5].trim())
+                );
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Adds one postal code to the index, unless the pair is already present.
+     */
+    public PostalGazetteerBuilder add(String countryCode, int postalCode, String placeName, String state, double latitude, double longitude) {
+        entries.putIfAbsent(
+            PostalGazetteerFormat.key(countryCode, postalCode),
+            new Entry(intern(placeName), utf8Length(placeName), intern(state), utf8Length(state), latitude, longitude)
+        );
+        return this;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes the index in the {@link PostalGazetteerFormat} layout.
+     *
+     * @param output the file to create or replace.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path output) throws IOException {
+        try (OutputStream os = Files.newOutputStream(output); DataOutputStream out = new DataOutputStream(os)) {
+            out.writeInt(PostalGazetteerFormat.MAGIC);
+            out.writeInt(PostalGazetteerFormat.VERSION);
+            out.writeInt(entries.size());
+            out.writeInt(PostalGazetteerFormat.HEADER_SIZE + entries.size() * PostalGazetteerFormat.RECORD_SIZE);
+            for (Map.Entry<Long, Entry> e : entries.entrySet()) {
+                Entry entry = e.getValue();
+                out.writeLong(e.getKey());
+                out.writeDouble(entry.latitude);
+                out.writeDouble(entry.longitude);
+                out.writeInt(entry.placeOffset);
+                out.writeShort(entry.placeLength);
+                out.writeInt(entry.stateOffset);
+                out.writeShort(entry.stateLength);
+            }
+            for (byte[] bytes : strings) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private int intern(String value) {
+        Integer offset = stringOffsets.get(value);
+        if (offset == null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("Value too long: " + value);
+            }
+            offset = stringTableSize;
+            strings.add(bytes);
+            stringTableSize += bytes.length;
+            stringOffsets.put(value, offset);
+        }
+        return offset;
+    }
+
+    private static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static final class Entry {
+
+        private final int placeOffset;
+        private final int placeLength;
+        private final int stateOffset;
+        private final int stateLength;
+        private final double latitude;
+        private final double longitude;
+
+        private Entry(int placeOffset, int placeLength, int stateOffset, int stateLength, double latitude, double longitude) {
+            this.placeOffset = placeOffset;
+            this.placeLength = placeLength;
+            this.stateOffset = stateOffset;
+            this.stateLength = stateLength;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.rogers.accountmanager.service.geocoding;
+
+/**
+ * Layout of the binary postal-code index read by {@link PostalGazetteer} and written by {@link PostalGazetteerBuilder}.
+ * <p>
+ * All values are big-endian. The file is a fixed-size header, followed by fixed-size records sorted by key,
+ * followed by a UTF-8 string table holding place names and state abbreviations:
+ * <pre>
+ * header : int magic, int version, int recordCount, int stringTableOffset
+ * record : long key, double latitude, double longitude,
+ *          int placeOffset, short placeLength, int stateOffset, short stateLength
+ * </pre>
+ * String offsets are relative to the start of the string table.
+ */
+final class PostalGazetteerFormat {
+
+    static final int MAGIC = 0x50475a31; // "PGZ1"
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 16;
+
+    static final int RECORD_SIZE = 36;
+
+    static final int KEY_OFFSET = 0;
+
+    static final int LATITUDE_OFFSET = 8;
+
+    static final int LONGITUDE_OFFSET = 16;
+
+    static final int PLACE_OFFSET = 24;
+
+    static final int PLACE_LENGTH_OFFSET = 28;
+
+    static final int STATE_OFFSET = 30;
+
+    static final int STATE_LENGTH_OFFSET = 34;
+
+    private PostalGazetteerFormat() {}
+
+    /**
+     * Packs a two-letter ISO country code and a numeric postal code into a sortable key.
+     *
+     * @param countryCode the two-letter country code, e.g. {@code US}.
+     * @param postalCode the postal code, as stored on the account.
+     * @return the record key.
+     */
+    static long key(String countryCode, int postalCode) {
+        if (countryCode == null || countryCode.length() != 2) {
+            throw new IllegalArgumentException("Invalid country code: " + countryCode);
+        }
+        if (postalCode < 0) {
+            throw new IllegalArgumentException("Invalid postal code: " + postalCode);
+        }
+        return ((long) countryCode.charAt(0) << 40) | ((long) countryCode.charAt(1) << 32) | postalCode;
+    }
+}
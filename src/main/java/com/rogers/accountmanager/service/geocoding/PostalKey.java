@@ -0,0 +1,52 @@
+package com.rogers.accountmanager.service.geocoding;
+
+import com.rogers.accountmanager.domain.AccountsInfo;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A (country, postal code) pair, used as key for postal lookups.
+ */
+public final class PostalKey implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final AccountsInfo.Country country;
+
+    private final Integer postalCode;
+
+    public PostalKey(AccountsInfo.Country country, Integer postalCode) {
+        this.country = Objects.requireNonNull(country, "country");
+        this.postalCode = Objects.requireNonNull(postalCode, "postalCode");
+    }
+
+    public AccountsInfo.Country getCountry() {
+        return country;
+    }
+
+    public Integer getPostalCode() {
+        return postalCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PostalKey)) {
+            return false;
+        }
+        PostalKey that = (PostalKey) o;
+        return country == that.country && postalCode.equals(that.postalCode);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * country.hashCode() + postalCode;
+    }
+
+    @Override
+    public String toString() {
+        return country + "/" + postalCode;
+    }
+}
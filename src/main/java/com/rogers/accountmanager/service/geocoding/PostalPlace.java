@@ -0,0 +1,98 @@
+package com.rogers.accountmanager.service.geocoding;
+
+import com.rogers.accountmanager.domain.AccountsInfo;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Place information resolved for a (country, postal code) pair.
+ */
+public final class PostalPlace implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Negative result, cached for postal codes the geocoder does not know.
+     */
+    public static final PostalPlace UNKNOWN = new PostalPlace(null, null, null, null);
+
+    private final String placeName;
+
+    private final String state;
+
+    private final Double latitude;
+
+    private final Double longitude;
+
+    public PostalPlace(String placeName, String state, Double latitude, Double longitude) {
+        this.placeName = placeName;
+        this.state = state;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    public String getPlaceName() {
+        return placeName;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public boolean isUnknown() {
+        return placeName == null && state == null;
+    }
+
+    /**
+     * Copies this place onto an account.
+     *
+     * @param accountsInfo the account to update.
+     */
+    public void applyTo(AccountsInfo accountsInfo) {
+        accountsInfo.setPlace(placeName);
+        accountsInfo.setState(state);
+        accountsInfo.setLongitude(longitude);
+        accountsInfo.setLatitude(latitude);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PostalPlace)) {
+            return false;
+        }
+        PostalPlace that = (PostalPlace) o;
+        return (
+            Objects.equals(placeName, that.placeName) &&
+            Objects.equals(state, that.state) &&
+            Objects.equals(latitude, that.latitude) &&
+            Objects.equals(longitude, that.longitude)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(placeName, state, latitude, longitude);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PostalPlace{" +
+            "placeName='" + placeName + "'" +
+            ", state='" + state + "'" +
+            ", latitude=" + latitude +
+            ", longitude=" + longitude +
+            "}";
+    }
+}
@@ -0,0 +1,114 @@
+package com.rogers.accountmanager.service.geocoding;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.rogers.accountmanager.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Client for the zippopotam postal-code API.
+ * <p>
+ * It uses the pooled {@code geocodingRestTemplate} and parses responses with a reused {@link ObjectReader}, straight
+ * from the response stream.
+ */
+@Component
+public class ZippopotamClient {
+
+    private final Logger log = LoggerFactory.getLogger(ZippopotamClient.class);
+
+    private final RestTemplate restTemplate;
+
+    private final ObjectReader responseReader;
+
+    private final String baseUrl;
+
+    private final MeterRegistry meterRegistry;
+
+    public ZippopotamClient(
+        RestTemplate geocodingRestTemplate,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.restTemplate = geocodingRestTemplate;
+        this.responseReader = objectMapper.readerFor(ZippopotamResponse.class);
+        this.baseUrl = applicationProperties.getGeocoding().getUpstream().getBaseUrl();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Fetches the place of a postal code.
+     *
+     * @param key the postal code to look up.
+     * @return the first place returned by zippopotam, or {@link PostalPlace#UNKNOWN} if the postal code is unknown.
+     * @throws RestClientException if zippopotam could not be reached or answered with an error.
+     */
+    public PostalPlace fetch(PostalKey key) {
+        log.debug("Calling zippopotam for postal code {}", key);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            ZippopotamResponse response = restTemplate.execute(
+                baseUrl + "/{country}/{postalCode}",
+                HttpMethod.GET,
+                null,
+                clientResponse -> responseReader.readValue(clientResponse.getBody()),
+                key.getCountry(),
+                key.getPostalCode()
+            );
+            outcome = "success";
+            return toPlace(response);
+        } catch (HttpClientErrorException.NotFound e) {
+            outcome = "not-found";
+            return PostalPlace.UNKNOWN;
+        } finally {
+            sample.stop(meterRegistry.timer("geocoding.upstream.requests", "outcome", outcome));
+        }
+    }
+
+    private static PostalPlace toPlace(ZippopotamResponse response) {
+        if (response == null || response.places == null || response.places.isEmpty()) {
+            return PostalPlace.UNKNOWN;
+        }
+        ZippopotamPlace place = response.places.get(0);
+        return new PostalPlace(place.placeName, place.stateAbbreviation, toDouble(place.latitude), toDouble(place.longitude));
+    }
+
+    private static Double toDouble(String value) {
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class ZippopotamResponse {
+
+        @JsonProperty("places")
+        List<ZippopotamPlace> places;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class ZippopotamPlace {
+
+        @JsonProperty("place name")
+        String placeName;
+
+        @JsonProperty("state abbreviation")
+        String stateAbbreviation;
+
+        @JsonProperty("latitude")
+        String latitude;
+
+        @JsonProperty("longitude")
+        String longitude;
+    }
+}
@@ -5,16 +5,29 @@ import static java.util.stream.Collectors.summingInt;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.rogers.accountmanager.config.ApplicationProperties;
 import com.rogers.accountmanager.domain.AccountsInfo;
-import com.rogers.accountmanager.repository.AccountsInfoRepository;
+import com.rogers.accountmanager.service.AccountsInfoQueryService;
+import com.rogers.accountmanager.service.AccountsInfoService;
+import com.rogers.accountmanager.service.criteria.AccountsInfoCriteria;
+import com.rogers.accountmanager.service.dto.AccountsInfoLookupDTO;
+import com.rogers.accountmanager.service.dto.AccountsInfoSummaryDTO;
 import com.rogers.accountmanager.service.dto.CountOfUsersGroupedByStateAndPlaceDTO;
 import com.rogers.accountmanager.web.rest.errors.BadRequestAlertException;
+import com.rogers.accountmanager.web.rest.util.KeysetPaginationUtil;
+import com.rogers.accountmanager.web.rest.vm.AccountsInfoIdsVM;
+import com.rogers.accountmanager.web.rest.vm.AccountsInfoStatusVM;
 import com.sun.corba.se.spi.ior.ObjectKey;
 import io.undertow.security.idm.Account;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.validation.Valid;
@@ -24,12 +37,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.*;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -38,21 +53,39 @@ import tech.jhipster.web.util.ResponseUtil;
  */
 @RestController
 @RequestMapping("/api")
-@Transactional
 public class AccountsInfoResource {
 
     private final Logger log = LoggerFactory.getLogger(AccountsInfoResource.class);
 
     private static final String ENTITY_NAME = "accountsInfo";
-    private RestTemplate restTemplate;
+
+    // lookups are revalidated on every use: they are served by the second-level cache, and a 304 skips the body
+    private static final CacheControl LOOKUP_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
 
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
-    private final AccountsInfoRepository accountsInfoRepository;
+    private final AccountsInfoService accountsInfoService;
+
+    private final AccountsInfoQueryService accountsInfoQueryService;
+
+    private final ApplicationProperties.Pagination pagination;
 
-    public AccountsInfoResource(AccountsInfoRepository accountsInfoRepository) {
-        this.accountsInfoRepository = accountsInfoRepository;
+    private final ObjectWriter exportWriter;
+
+    private final ObjectReader patchReader;
+
+    public AccountsInfoResource(
+        AccountsInfoService accountsInfoService,
+        AccountsInfoQueryService accountsInfoQueryService,
+        ApplicationProperties applicationProperties,
+        ObjectMapper objectMapper
+    ) {
+        this.accountsInfoService = accountsInfoService;
+        this.accountsInfoQueryService = accountsInfoQueryService;
+        this.pagination = applicationProperties.getPagination();
+        this.exportWriter = objectMapper.writerFor(AccountsInfo.class);
+        this.patchReader = objectMapper.readerFor(AccountsInfo.class);
     }
 
     /**
@@ -60,22 +93,19 @@ public class AccountsInfoResource {
      *
      * @param accountsInfo the accountsInfo to create.
      * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new accountsInfo, or with status {@code 400 (Bad Request)} if the accountsInfo has already an ID.
+     * When {@code application.geocoding.enrichment.async} is enabled, the account is created {@code REQUESTED} and activated once geocoded.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/accounts-infos")
     public ResponseEntity<String> createAccountsInfo(@Valid @RequestBody AccountsInfo accountsInfo)
         throws URISyntaxException, JsonProcessingException {
-        accountsInfo.setStatus(AccountsInfo.Status.ACTIVE);
-
         log.debug("REST request to save AccountsInfo : {}", accountsInfo);
+        if (accountsInfo.getId() != null) {
+            throw new BadRequestAlertException("A new accountsInfo cannot already have an ID", ENTITY_NAME, "idexists");
+        }
 
-        // Calling place info from zippopoteam
-        String apiUrl = "https://api.zippopotam.us/" + accountsInfo.getCountry() + "/" + accountsInfo.getPostalCode();
-        ObjectMapper mapper = new ObjectMapper();
-        // set state, Longitude, LAtitude and placeName by setPlace method
-        setPlace(accountsInfo, apiUrl, mapper);
-
-        AccountsInfo result = accountsInfoRepository.save(accountsInfo);
+        // sets the status, and the place once geocoded
+        AccountsInfo result = accountsInfoService.create(accountsInfo);
         return ResponseEntity
             .created(new URI("/api/accounts-infos/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, result.getId().toString()))
@@ -87,15 +117,19 @@ public class AccountsInfoResource {
      *
      * @param id           the id of the accountsInfo to save.
      * @param accountsInfo the accountsInfo to update.
+     * @param ifMatch      the {@code ETag} of the accountsInfo the update was made from, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated accountsInfo,
-     * or with status {@code 400 (Bad Request)} if the accountsInfo is not valid,
+     * or with status {@code 400 (Bad Request)} if the accountsInfo is not valid or not active,
+     * or with status {@code 409 (Conflict)} if the accountsInfo was changed since the version in the body was read,
+     * or with status {@code 412 (Precondition Failed)} if the accountsInfo was changed since {@code If-Match} was read,
      * or with status {@code 500 (Internal Server Error)} if the accountsInfo couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/accounts-infos/{id}")
     public ResponseEntity<AccountsInfo> updateAccountsInfo(
         @PathVariable(value = "id", required = false) final String id,
-        @Valid @RequestBody AccountsInfo accountsInfo
+        @Valid @RequestBody AccountsInfo accountsInfo,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to update AccountsInfo : {}, {}", id, accountsInfo);
         if (accountsInfo.getId() == null) {
@@ -105,65 +139,269 @@ public class AccountsInfoResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!accountsInfoRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-        // Account status must be active to edit
-        if (accountsInfoRepository.findById(id).get().getStatus() == AccountsInfo.Status.ACTIVE) {
-            // if address change requires to call the zippo api to retrieve new info
-            String apiUrl = "https://api.zippopotam.us/" + accountsInfo.getCountry() + "/" + accountsInfo.getPostalCode();
-            ObjectMapper mapper = new ObjectMapper();
-            setPlace(accountsInfo, apiUrl, mapper);
-
-            AccountsInfo result = accountsInfoRepository.save(accountsInfo);
-            return ResponseEntity
-                .ok()
-                .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, accountsInfo.getId().toString()))
-                .body(result);
-        } else throw new BadRequestAlertException("Inactive Status", ENTITY_NAME, "InactiveStatus");
+        // Account status must be active to edit and is not changed, the geocoder is only called if the address changed
+        AccountsInfo result = accountsInfoService
+            .update(accountsInfo, versionCheck(accountsInfo, ifMatch))
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId()))
+            .eTag(versionETag(result.getVersion()))
+            .body(result);
     }
 
-    //  this method set the place infos retrived from zippo api
-    private void setPlace(@RequestBody @Valid AccountsInfo accountsInfo, String apiUrl, ObjectMapper mapper) {
+    /**
+     * {@code PATCH  /accounts-infos/:id} : Partial updates given fields of an existing accountsInfo, as a JSON merge patch:
+     * fields absent from the patch are left unchanged, fields set to {@code null} are cleared.
+     *
+     * @param id           the id of the accountsInfo to save.
+     * @param patch        the id, the fields to update and optionally the version of the accountsInfo.
+     * @param ifMatch      the {@code ETag} of the accountsInfo the update was made from, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated accountsInfo,
+     * or with status {@code 400 (Bad Request)} if the patch or the updated accountsInfo is not valid, or it is not active,
+     * or with status {@code 409 (Conflict)} if the accountsInfo was changed since the version in the body was read,
+     * or with status {@code 412 (Precondition Failed)} if the accountsInfo was changed since {@code If-Match} was read,
+     * or with status {@code 500 (Internal Server Error)} if the accountsInfo couldn't be updated.
+     */
+    @PatchMapping(value = "/accounts-infos/{id}", consumes = "application/merge-patch+json")
+    public ResponseEntity<AccountsInfo> partialUpdateAccountsInfo(
+        @PathVariable(value = "id", required = false) final String id,
+        @NotNull @RequestBody ObjectNode patch,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        log.debug("REST request to partial update AccountsInfo partially : {}, {}", id, patch);
+        AccountsInfo accountsInfo;
         try {
-            Map<String, Object> responseMap = mapper.readValue(retrieveDataFromAPI(apiUrl), Map.class);
-            List<Map<String, Object>> places = (List<Map<String, Object>>) responseMap.get("places");
-            String placeName = (String) places.get(0).get("place name");
-            String state = (String) places.get(0).get("state abbreviation");
-            Double longitude = Double.parseDouble((String) places.get(0).get("longitude"));
-            Double latitude = Double.parseDouble((String) places.get(0).get("latitude"));
-            accountsInfo.setPlace(placeName);
-            accountsInfo.setState(state);
-            accountsInfo.setLongitude(longitude);
-            accountsInfo.setLatitude(latitude);
-        } catch (IOException e) {
-            // handle the error
-            log.error("Error parsing response", e);
+            accountsInfo = patchReader.treeToValue(patch, AccountsInfo.class);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestAlertException("Invalid patch", ENTITY_NAME, "patchinvalid");
+        }
+        Set<String> fields = new HashSet<>();
+        patch.fieldNames().forEachRemaining(fields::add);
+        if (accountsInfo.getId() == null) {
+            throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
+        }
+        if (!Objects.equals(id, accountsInfo.getId())) {
+            throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+
+        // the merged accountsInfo is validated before it is written
+        AccountsInfo result = accountsInfoService
+            .partialUpdate(accountsInfo, fields, versionCheck(accountsInfo, ifMatch))
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, result.getId()))
+            .eTag(versionETag(result.getVersion()))
+            .body(result);
+    }
+
+    // with If-Match, the update fails if the version was bumped since it was read; the version in the body is ignored
+    private static Predicate<Long> versionCheck(AccountsInfo accountsInfo, String ifMatch) {
+        if (ifMatch == null) {
+            return version -> true;
+        }
+        accountsInfo.setVersion(null);
+        return version -> matchesETag(ifMatch, versionETag(version));
     }
 
     /**
-     * {@code GET  /accounts-infos} : get all the accountsInfos.
+     * {@code PUT  /accounts-infos/:id/status} : change the status of the "id" accountsInfo, if it still has the expected one.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of accountsInfos in body.
+     * @param id the id of the accountsInfo.
+     * @param accountsInfoStatus the expected and the new status: {@code REQUESTED} to {@code ACTIVE}, or {@code ACTIVE} to
+     * {@code INACTIVE}.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 400 (Bad Request)} if the accountsInfo cannot go from the expected status to the new one,
+     * or with status {@code 404 (Not Found)} if there is no such accountsInfo,
+     * or with status {@code 409 (Conflict)} if the accountsInfo does not have the expected status.
+     */
+    @PutMapping("/accounts-infos/{id}/status")
+    public ResponseEntity<Void> changeAccountsInfoStatus(
+        @PathVariable String id,
+        @Valid @RequestBody AccountsInfoStatusVM accountsInfoStatus
+    ) {
+        log.debug("REST request to change the status of AccountsInfo : {}", id);
+        if (!accountsInfoService.changeStatus(id, accountsInfoStatus.getExpected(), accountsInfoStatus.getStatus())) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, id)).build();
+    }
+
+    /**
+     * {@code POST  /accounts-infos/_deactivate?country=:country&state=:state} : deactivate all the active accountsInfos of a
+     * state, in one statement.
+     *
+     * @param country the country of the state.
+     * @param state the state.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of deactivated accountsInfos.
+     */
+    @PostMapping(value = "/accounts-infos/_deactivate", params = { "country", "state" })
+    public ResponseEntity<Integer> deactivateAccountsInfos(@RequestParam AccountsInfo.Country country, @RequestParam String state) {
+        log.debug("REST request to deactivate the AccountsInfos of : {} {}", country, state);
+        return ResponseEntity.ok().body(accountsInfoService.deactivateByState(country, state));
+    }
+
+    /**
+     * {@code GET  /accounts-infos} : get a page of accountsInfos, ordered by id.
+     * <p>
+     * The {@code Link} header holds the URL of the next page, if any.
+     *
+     * @param criteria the criteria which the requested entities should match, e.g. {@code country.equals=US},
+     * {@code status.in=ACTIVE,REQUESTED} or {@code age.greaterThanOrEqual=18}.
+     * @param cursor the cursor of the page, from the {@code Link} header of the previous one; none for the first page.
+     * @param size the size of the page, capped to {@code application.pagination.max-page-size}.
+     * @param unpaged get all the accountsInfos at once, when allowed by {@code application.pagination.allow-unpaged}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of accountsInfo summaries in body,
+     * or with status {@code 400 (Bad Request)} if the cursor is not valid.
      */
     @GetMapping("/accounts-infos")
-    public List<AccountsInfo> getAllAccountsInfos() {
-        log.debug("REST request to get all AccountsInfos");
-        return accountsInfoRepository.findAll();
+    public ResponseEntity<List<AccountsInfoSummaryDTO>> getAllAccountsInfos(
+        AccountsInfoCriteria criteria,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer size,
+        @RequestParam(defaultValue = "false") boolean unpaged
+    ) {
+        if (unpaged) {
+            if (!pagination.isAllowUnpaged()) {
+                throw new BadRequestAlertException("Unpaged requests are disabled", ENTITY_NAME, "unpageddisabled");
+            }
+            log.debug("REST request to get all AccountsInfos by criteria: {}", criteria);
+            return ResponseEntity.ok(accountsInfoQueryService.findByCriteria(criteria));
+        }
+        log.debug("REST request to get a page of AccountsInfos by criteria: {}", criteria);
+        String afterId = null;
+        if (cursor != null) {
+            afterId =
+                KeysetPaginationUtil
+                    .decodeCursor(cursor)
+                    .orElseThrow(() -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid"));
+        }
+        int pageSize = Math.min(Math.max(size == null ? pagination.getDefaultPageSize() : size, 1), pagination.getMaxPageSize());
+        Slice<AccountsInfoSummaryDTO> page = accountsInfoQueryService.findByCriteria(criteria, afterId, pageSize);
+        String nextCursor = page.hasNext()
+            ? KeysetPaginationUtil.encodeCursor(page.getContent().get(page.getNumberOfElements() - 1).getId())
+            : null;
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            nextCursor,
+            pageSize
+        );
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /accounts-infos/export} : export all the accountsInfos as newline-delimited JSON, ordered by id.
+     * <p>
+     * Accounts are written while they are read from the database, so the export does not hold them all in memory.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and one accountsInfo per line in body.
+     */
+    @GetMapping(value = "/accounts-infos/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAccountsInfos() {
+        log.debug("REST request to export all AccountsInfos");
+        StreamingResponseBody body = outputStream -> {
+            try {
+                long count = accountsInfoService.exportAll(
+                    accountsInfo -> {
+                        try {
+                            outputStream.write(exportWriter.writeValueAsBytes(accountsInfo));
+                            outputStream.write('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                );
+                log.debug("Exported {} AccountsInfos", count);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     /**
      * {@code GET  /accounts-infos/:id} : get the "id" accountsInfo.
+     * <p>
+     * The response carries the version of the accountsInfo as its {@code ETag}. A request sending it back in
+     * {@code If-None-Match} is answered {@code 304 (Not Modified)} from the version only, without loading the accountsInfo.
      *
      * @param id the id of the accountsInfo to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the accountsInfo, or with status {@code 404 (Not Found)}.
+     * @param request the request, holding its conditional headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the accountsInfo summary,
+     * or with status {@code 304 (Not Modified)}, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/accounts-infos/{id}")
-    public ResponseEntity<AccountsInfo> getAccountsInfo(@PathVariable String id) {
+    public ResponseEntity<AccountsInfoSummaryDTO> getAccountsInfo(@PathVariable String id, WebRequest request) {
         log.debug("REST request to get AccountsInfo : {}", id);
-        Optional<AccountsInfo> accountsInfo = accountsInfoRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(accountsInfo);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> eTag = accountsInfoService.findVersion(id).map(AccountsInfoResource::versionETag);
+            if (eTag.isPresent() && request.checkNotModified(eTag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(LOOKUP_CACHE_CONTROL).eTag(eTag.get()).build();
+            }
+        }
+        return wrapWithValidatorsOrNotFound(accountsInfoService.findSummary(id));
+    }
+
+    /**
+     * {@code POST  /accounts-infos/_mget} : get several accountsInfos by id, in one query.
+     *
+     * @param accountsInfoIds the ids of the accountsInfos to retrieve, at most {@code application.pagination.max-multi-get-ids}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body one lookup per id, in the order of the request,
+     * or with status {@code 400 (Bad Request)} if there are too many ids.
+     */
+    @PostMapping("/accounts-infos/_mget")
+    public ResponseEntity<List<AccountsInfoLookupDTO>> getAccountsInfos(@Valid @RequestBody AccountsInfoIdsVM accountsInfoIds) {
+        log.debug("REST request to get AccountsInfos : {}", accountsInfoIds.getIds());
+        if (accountsInfoIds.getIds().size() > pagination.getMaxMultiGetIds()) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "toomanyids");
+        }
+        return ResponseEntity.ok().body(accountsInfoService.findSummaries(accountsInfoIds.getIds()));
+    }
+
+    /**
+     * {@code GET  /accounts-infos-find?email=:email} : get the accountsInfo by email.
+     * <p>
+     * Unlike the variant taking a request body, the response can be cached by clients: it carries the version of the
+     * accountsInfo as its {@code ETag}, and a request sending it back in {@code If-None-Match} is answered
+     * {@code 304 (Not Modified)}.
+     *
+     * @param email the email of the accountsInfo to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the accountsInfo summary, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping(value = "/accounts-infos-find", params = "email")
+    public ResponseEntity<AccountsInfoSummaryDTO> findAccountsInfoByEmail(@RequestParam String email) {
+        log.debug("REST request to find AccountsInfo by email : {}", email);
+        return wrapWithValidatorsOrNotFound(accountsInfoService.findSummaryByEmail(email));
+    }
+
+    /**
+     * {@code GET  /accounts-infos-find?id=:id} : get the accountsInfo by id.
+     *
+     * @param id the id of the accountsInfo to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the accountsInfo summary, or with status {@code 404 (Not Found)}.
+     * @see #findAccountsInfoByEmail(String)
+     */
+    @GetMapping(value = "/accounts-infos-find", params = "id")
+    public ResponseEntity<AccountsInfoSummaryDTO> findAccountsInfoById(@RequestParam String id) {
+        log.debug("REST request to find AccountsInfo by id : {}", id);
+        return wrapWithValidatorsOrNotFound(accountsInfoService.findSummary(id));
+    }
+
+    private static ResponseEntity<AccountsInfoSummaryDTO> wrapWithValidatorsOrNotFound(Optional<AccountsInfoSummaryDTO> summary) {
+        return summary
+            .map(body -> ResponseEntity.ok().cacheControl(LOOKUP_CACHE_CONTROL).eTag(versionETag(body.getVersion())).body(body))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // strong: the version is bumped on every change of the accountsInfo
+    private static String versionETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // If-Match uses the strong comparison, weak ETags never match
+    private static boolean matchesETag(String ifMatch, String eTag) {
+        return Arrays.stream(ifMatch.split(",")).map(String::trim).anyMatch(candidate -> "*".equals(candidate) || eTag.equals(candidate));
     }
 
     /**
@@ -173,15 +411,15 @@ public class AccountsInfoResource {
      */
     // finds by Id or Email
     @GetMapping("/accounts-infos-find")
-    public ResponseEntity<AccountsInfo> getAccountsInfo(@RequestBody Map<String, String> searchBy) throws Exception {
+    public ResponseEntity<AccountsInfoSummaryDTO> getAccountsInfo(@RequestBody Map<String, String> searchBy) throws Exception {
         log.debug("REST request to get AccountsInfo : {}", searchBy.get("email"));
 
-        Optional<AccountsInfo> accountsInfo = Optional.empty();
+        Optional<AccountsInfoSummaryDTO> accountsInfo = Optional.empty();
         if (searchBy.get("id").equals("") && searchBy.get("email").equals("")) throw new NullPointerException(
             "Processing fail. Got a null response"
         );
-        if (!searchBy.get("id").equals("")) accountsInfo = accountsInfoRepository.findById(searchBy.get("id")); else accountsInfo =
-            accountsInfoRepository.findByEmail(searchBy.get("email"));
+        if (!searchBy.get("id").equals("")) accountsInfo = accountsInfoService.findSummary(searchBy.get("id")); else accountsInfo =
+            accountsInfoService.findSummaryByEmail(searchBy.get("email"));
         return ResponseUtil.wrapOrNotFound(accountsInfo);
     }
 
@@ -190,47 +428,37 @@ public class AccountsInfoResource {
      */
 
     /**
-     * {@code DELETE  /accounts-infos/:id} : delete the "id" accountsInfo.
+     * {@code DELETE  /accounts-infos/:id} : delete the "id" accountsInfo, which must be inactive.
      *
      * @param id the id of the accountsInfo to delete.
-     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     * @param pin the security pin of the accountsInfo.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 400 (Bad Request)} if the accountsInfo is not inactive or the pin does not match,
+     * or with status {@code 404 (Not Found)} if there is no such accountsInfo.
      */
     @DeleteMapping("/accounts-infos/{id}")
     public ResponseEntity<Void> deleteAccountsInfo(@PathVariable String id, @RequestParam(required = true) Integer pin) {
-        log.debug("REST request to delete AccountsInfo : {} with pin {}", id, pin);
-        // execute the deletion logic if the object is not null and both the security pin and the status match the required conditions
-        if (id.equals("") || pin == null) throw new NullPointerException();
-        AccountsInfo accountsInfo = accountsInfoRepository.findById(id).orElse(null);
-        if (!accountsInfo.getStatus().equals(AccountsInfo.Status.INACTIVE)) throw new BadRequestAlertException(
-            "Invalid status",
-            ENTITY_NAME,
-            "Valid"
-        );
-        if (
-            accountsInfo.getSecurityPin().equals(pin) && accountsInfo.getStatus().equals(AccountsInfo.Status.INACTIVE)
-        ) accountsInfoRepository.deleteById(id);
-
+        log.debug("REST request to delete AccountsInfo : {}", id);
+        if (!accountsInfoService.deleteInactive(id, pin)) {
+            return ResponseEntity.notFound().build();
+        }
         return ResponseEntity
             .noContent()
-            .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
+            .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id))
             .build();
     }
 
     @GetMapping("/accounts-infos-retrieve")
     public ResponseEntity<Map<String, Object>> getGroupedAccounts() {
-        List<AccountsInfo> accounts = accountsInfoRepository.findAll();
-
-        Map<AccountsInfo.Country, Map<String, Map<String, Integer>>> groupedByCountryAndStateAndPlace = accounts
-            .stream()
-            .collect(
-                Collectors.groupingBy(
-                    AccountsInfo::getCountry,
-                    Collectors.groupingBy(
-                        AccountsInfo::getState,
-                        Collectors.groupingBy(AccountsInfo::getPlace, Collectors.summingInt(a -> 1))
-                    )
-                )
-            );
+        log.debug("REST request to get AccountsInfos grouped by country, state and place");
+        // counted by the database, only one row per place is loaded
+        Map<AccountsInfo.Country, Map<String, Map<String, Integer>>> groupedByCountryAndStateAndPlace = new HashMap<>();
+        for (CountOfUsersGroupedByStateAndPlaceDTO row : accountsInfoService.countGroupedByCountryAndStateAndPlace()) {
+            groupedByCountryAndStateAndPlace
+                .computeIfAbsent(row.getCountry(), country -> new HashMap<>())
+                .computeIfAbsent(row.getState(), state -> new HashMap<>())
+                .put(row.getPlace(), row.getCountOfUsers().intValue());
+        }
 
         Map<String, Object> response = new HashMap<>();
         groupedByCountryAndStateAndPlace.forEach(
@@ -265,9 +493,4 @@ public class AccountsInfoResource {
 
         return ResponseEntity.ok(response);
     }
-
-    private static String retrieveDataFromAPI(String apiUrl) {
-        RestTemplate restTemplate = new RestTemplate();
-        return restTemplate.getForObject(apiUrl, String.class);
-    }
 }
@@ -150,6 +150,57 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(new InvalidPasswordException(), request);
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleUnknownPostalCodeException(
+        com.rogers.accountmanager.service.UnknownPostalCodeException ex,
+        NativeWebRequest request
+    ) {
+        return handleBadRequestAlertException(new BadRequestAlertException(ex.getMessage(), "accountsInfo", "postalcodeunknown"), request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleAccountsInfoNotActiveException(
+        com.rogers.accountmanager.service.AccountsInfoNotActiveException ex,
+        NativeWebRequest request
+    ) {
+        return handleBadRequestAlertException(new BadRequestAlertException(ex.getMessage(), "accountsInfo", "InactiveStatus"), request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleAccountsInfoNotDeletableException(
+        com.rogers.accountmanager.service.AccountsInfoNotDeletableException ex,
+        NativeWebRequest request
+    ) {
+        return handleBadRequestAlertException(new BadRequestAlertException(ex.getMessage(), "accountsInfo", "Valid"), request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleAccountsInfoModifiedException(
+        com.rogers.accountmanager.service.AccountsInfoModifiedException ex,
+        NativeWebRequest request
+    ) {
+        return handlePreconditionFailedAlertException(
+            new PreconditionFailedAlertException(ex.getMessage(), "accountsInfo", "versionmismatch"),
+            request
+        );
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleAccountsInfoStatusTransitionException(
+        com.rogers.accountmanager.service.AccountsInfoStatusTransitionException ex,
+        NativeWebRequest request
+    ) {
+        return handleBadRequestAlertException(new BadRequestAlertException(ex.getMessage(), "accountsInfo", "invalidtransition"), request);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleAccountsInfoStatusConflictException(
+        com.rogers.accountmanager.service.AccountsInfoStatusConflictException ex,
+        NativeWebRequest request
+    ) {
+        return handleConflictAlertException(new ConflictAlertException(ex.getMessage(), "accountsInfo", "statusconflict"), request);
+    }
+
     @ExceptionHandler
     public ResponseEntity<Problem> handleBadRequestAlertException(BadRequestAlertException ex, NativeWebRequest request) {
         return create(
@@ -159,6 +210,24 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         );
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Problem> handlePreconditionFailedAlertException(PreconditionFailedAlertException ex, NativeWebRequest request) {
+        return create(
+            ex,
+            request,
+            HeaderUtil.createFailureAlert(applicationName, false, ex.getEntityName(), ex.getErrorKey(), ex.getMessage())
+        );
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleConflictAlertException(ConflictAlertException ex, NativeWebRequest request) {
+        return create(
+            ex,
+            request,
+            HeaderUtil.createFailureAlert(applicationName, false, ex.getEntityName(), ex.getErrorKey(), ex.getMessage())
+        );
+    }
+
     @ExceptionHandler
     public ResponseEntity<Problem> handleConcurrencyFailure(ConcurrencyFailureException ex, NativeWebRequest request) {
         Problem problem = Problem.builder().withStatus(Status.CONFLICT).with(MESSAGE_KEY, ErrorConstants.ERR_CONCURRENCY_FAILURE).build();
@@ -0,0 +1,64 @@
+package com.rogers.accountmanager.web.rest.util;
+
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Base64;
+import java.util.Optional;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for keyset (seek) pagination.
+ * <p>
+ * Pages are ordered by a unique key, and the next page is requested with an opaque cursor wrapping the last key of
+ * the current one, so deep pages cost the same as the first one. The {@code Link} header follows the format of
+ * {@link tech.jhipster.web.util.PaginationUtil}.
+ */
+public final class KeysetPaginationUtil {
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Wraps a key into an opaque, URL-safe cursor.
+     *
+     * @param key the last key of a page.
+     * @return the cursor.
+     */
+    public static String encodeCursor(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Unwraps a cursor built by {@link #encodeCursor(String)}.
+     *
+     * @param cursor the cursor.
+     * @return the key, or empty if the cursor is not valid.
+     */
+    public static Optional<String> decodeCursor(String cursor) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return key.isEmpty() ? Optional.empty() : Optional.of(key);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Generate the {@code Link} header pointing to the next page.
+     *
+     * @param uriBuilder the current request URI.
+     * @param nextCursor the cursor of the next page, or {@code null} if this is the last page.
+     * @param size the size of the page.
+     * @return http header.
+     */
+    public static HttpHeaders generateKeysetPaginationHttpHeaders(UriComponentsBuilder uriBuilder, String nextCursor, int size) {
+        HttpHeaders headers = new HttpHeaders();
+        if (nextCursor != null) {
+            String uri = uriBuilder.replaceQueryParam("cursor", nextCursor).replaceQueryParam("size", size).toUriString();
+            headers.add(HttpHeaders.LINK, MessageFormat.format(HEADER_LINK_FORMAT, uri, "next"));
+        }
+        return headers;
+    }
+}
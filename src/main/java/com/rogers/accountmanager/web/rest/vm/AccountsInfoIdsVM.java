@@ -0,0 +1,21 @@
+package com.rogers.accountmanager.web.rest.vm;
+
+import java.util.List;
+import javax.validation.constraints.NotNull;
+
+/**
+ * View Model object for storing the ids of the accounts to get at once.
+ */
+public class AccountsInfoIdsVM {
+
+    @NotNull
+    private List<String> ids;
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,32 @@
+package com.rogers.accountmanager.web.rest.vm;
+
+import com.rogers.accountmanager.domain.AccountsInfo;
+import javax.validation.constraints.NotNull;
+
+/**
+ * View Model object for storing a status transition of an account: the status it must have, and its new status.
+ */
+public class AccountsInfoStatusVM {
+
+    @NotNull
+    private AccountsInfo.Status expected;
+
+    @NotNull
+    private AccountsInfo.Status status;
+
+    public AccountsInfo.Status getExpected() {
+        return expected;
+    }
+
+    public void setExpected(AccountsInfo.Status expected) {
+        this.expected = expected;
+    }
+
+    public AccountsInfo.Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(AccountsInfo.Status status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,61 @@
+package com.rogers.accountmanager.benchmark;
+
+import com.rogers.accountmanager.service.BlockAccountIdGenerator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the random UUID prefix accounts were created with, with the {@link BlockAccountIdGenerator}, on 8 threads.
+ * <p>
+ * Blocks are reserved in memory, so the numbers leave out the database round trip made once per block; with the
+ * default block size of 1000 it is amortized over as many ids.
+ * <p>
+ * Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.rogers.accountmanager.benchmark.AccountIdGeneratorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class AccountIdGeneratorBenchmark {
+
+    private final AtomicLong nextValue = new AtomicLong();
+
+    // wraps around instead of running out of ids during long runs
+    private final BlockAccountIdGenerator blockAccountIdGenerator = new BlockAccountIdGenerator(
+        size -> BlockAccountIdGenerator.FIRST_VALUE + Math.floorMod(nextValue.getAndAdd(size), 1_000_000_000L),
+        1000,
+        16
+    );
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, 6);
+    }
+
+    @Benchmark
+    public String block() {
+        return blockAccountIdGenerator.nextId();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AccountIdGeneratorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,138 @@
+package com.rogers.accountmanager.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares bulk inserts into {@code accounts_info} keyed by its public {@code varchar(6)} id, like the table was
+ * created, with the auto-incremented {@code bigint} primary key it has now, for random and sequential public ids.
+ * <p>
+ * Runs against an in-memory H2 database by default. Set {@code -Dbenchmark.jdbc.url}, {@code -Dbenchmark.jdbc.username}
+ * and {@code -Dbenchmark.jdbc.password} to measure against a local MariaDB instead: the data and index sizes of the
+ * table are then printed at the end of each trial.
+ * <p>
+ * Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.rogers.accountmanager.benchmark.AccountsInfoInsertBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AccountsInfoInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final long ID_SPACE = 36L * 36 * 36 * 36 * 36 * 36;
+
+    // coprime with 36, so multiplying by it modulo the id space scatters sequential values without collisions
+    private static final long SCATTER = 1_000_003L;
+
+    @Param({ "varchar", "bigint" })
+    public String primaryKey;
+
+    @Param({ "random", "sequential" })
+    public String ids;
+
+    private Connection connection;
+
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection =
+            DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:insert-benchmark;DB_CLOSE_DELAY=-1"),
+                System.getProperty("benchmark.jdbc.username", "sa"),
+                System.getProperty("benchmark.jdbc.password", "")
+            );
+        String keyColumns = "bigint".equals(primaryKey)
+            ? "internal_id BIGINT AUTO_INCREMENT PRIMARY KEY, id VARCHAR(6) NOT NULL UNIQUE"
+            : "id VARCHAR(6) PRIMARY KEY";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS accounts_info_benchmark");
+            statement.execute(
+                "CREATE TABLE accounts_info_benchmark (" +
+                keyColumns +
+                ", name VARCHAR(20) NOT NULL, email VARCHAR(255) NOT NULL, country VARCHAR(255) NOT NULL, postal_code INTEGER NOT NULL" +
+                ", status VARCHAR(255) NOT NULL, place VARCHAR(255), state VARCHAR(2), version BIGINT NOT NULL)"
+            );
+        }
+        connection.setAutoCommit(false);
+        next = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (
+            Statement statement = connection.createStatement();
+            ResultSet sizes = statement.executeQuery(
+                "SELECT table_rows, data_length, index_length FROM information_schema.tables WHERE table_name = 'accounts_info_benchmark'"
+            )
+        ) {
+            if (sizes.next()) {
+                System.out.printf(
+                    "%n%s primary key, %s ids: %d rows, %d bytes of data, %d bytes of indexes%n",
+                    primaryKey,
+                    ids,
+                    sizes.getLong(1),
+                    sizes.getLong(2),
+                    sizes.getLong(3)
+                );
+            }
+        } catch (SQLException e) {
+            // information_schema.tables has no sizes on H2
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insert() throws SQLException {
+        try (
+            PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO accounts_info_benchmark (id, name, email, country, postal_code, status, place, state, version)" +
+                " VALUES (?, 'john', ?, 'US', 90210, 'ACTIVE', 'Beverly Hills', 'CA', 0)"
+            )
+        ) {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                long value = next++;
+                String id = Long.toString(ID_SPACE + ("random".equals(ids) ? value * SCATTER % ID_SPACE : value), 36).substring(1);
+                statement.setString(1, id);
+                statement.setString(2, id + "@localhost");
+                statement.addBatch();
+            }
+            int[] result = statement.executeBatch();
+            connection.commit();
+            return result;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AccountsInfoInsertBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,126 @@
+package com.rogers.accountmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rogers.accountmanager.AccountManagerApp;
+import com.rogers.accountmanager.domain.AccountsInfo;
+import com.rogers.accountmanager.repository.AccountsInfoRepository;
+import com.rogers.accountmanager.service.AccountsInfoQueryService;
+import com.rogers.accountmanager.service.criteria.AccountsInfoCriteria;
+import com.rogers.accountmanager.service.dto.AccountsInfoSummaryDTO;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares reading and serializing a page of accounts as managed entities, like the listing did before, with the
+ * {@link AccountsInfoSummaryDTO} projection it uses now.
+ * <p>
+ * Runs against the test H2 database. The GC profiler is enabled: {@code gc.alloc.rate.norm} is the number of bytes
+ * allocated per page.
+ * <p>
+ * Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.rogers.accountmanager.benchmark.AccountsInfoReadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountsInfoReadBenchmark {
+
+    private static final int ACCOUNTS = 1000;
+
+    private static final int PAGE_SIZE = 100;
+
+    private ConfigurableApplicationContext context;
+
+    private AccountsInfoQueryService accountsInfoQueryService;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context =
+            new SpringApplicationBuilder(AccountManagerApp.class)
+                .properties("server.port=0", "application.region-counters.enabled=false")
+                .run();
+        accountsInfoQueryService = context.getBean(AccountsInfoQueryService.class);
+        entityManager = context.getBean(EntityManager.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        readOnlyTransactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransactionTemplate.setReadOnly(true);
+
+        List<AccountsInfo> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add(
+                new AccountsInfo()
+                    .name("john")
+                    .email("benchmark" + i + "@localhost")
+                    .country(AccountsInfo.Country.US)
+                    .postalCode(90210)
+                    .state("CA")
+                    .place("Beverly Hills")
+                    .longitude(-118.4065)
+                    .latitude(34.0901)
+                    .age(30)
+                    .securityPin(1234)
+                    .status(AccountsInfo.Status.ACTIVE)
+            );
+        }
+        context.getBean(AccountsInfoRepository.class).saveAll(accounts);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] entities() throws Exception {
+        List<AccountsInfo> page = readOnlyTransactionTemplate.execute(
+            status ->
+                entityManager
+                    .createQuery("select a from AccountsInfo a order by a.id", AccountsInfo.class)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList()
+        );
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] summaries() throws Exception {
+        List<AccountsInfoSummaryDTO> page = accountsInfoQueryService.findByCriteria(new AccountsInfoCriteria(), null, PAGE_SIZE).getContent();
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AccountsInfoReadBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build())
+            .run();
+    }
+}
@@ -0,0 +1,115 @@
+package com.rogers.accountmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rogers.accountmanager.config.ApplicationProperties;
+import com.rogers.accountmanager.domain.AccountsInfo;
+import com.rogers.accountmanager.service.geocoding.PostalGazetteer;
+import com.rogers.accountmanager.service.geocoding.PostalPlace;
+import com.sun.net.httpserver.HttpServer;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Compares a postal lookup served by the embedded {@link PostalGazetteer} with the HTTP round trip to zippopotam.
+ * <p>
+ * The HTTP path hits a local stub returning a zippopotam payload, so the numbers are a lower bound of the real
+ * upstream cost (no TLS, no network latency). Set {@code -Dbenchmark.zippopotam.url=https://api.zippopotam.us}
+ * to measure against the real service instead.
+ * <p>
+ * Run with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.rogers.accountmanager.benchmark.PostalLookupBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostalLookupBenchmark {
+
+    private static final String PAYLOAD =
+        "{\"post code\": \"90210\", \"country\": \"United States\", \"country abbreviation\": \"US\", \"places\": " +
+        "[{\"place name\": \"Beverly Hills\", \"longitude\": \"-118.4065\", \"state\": \"California\", " +
+        "\"state abbreviation\": \"CA\", \"latitude\": \"34.0901\"}]}";
+
+    private PostalGazetteer gazetteer;
+
+    private HttpServer server;
+
+    private String apiUrl;
+
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        gazetteer = new PostalGazetteer(new ApplicationProperties(), new DefaultResourceLoader());
+        String baseUrl = System.getProperty("benchmark.zippopotam.url");
+        if (baseUrl == null) {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext(
+                "/",
+                exchange -> {
+                    byte[] body = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream os = exchange.getResponseBody()) {
+                        os.write(body);
+                    }
+                }
+            );
+            server.start();
+            baseUrl = "http://localhost:" + server.getAddress().getPort();
+        }
+        apiUrl = baseUrl + "/US/90210";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Benchmark
+    public Optional<PostalPlace> gazetteerHit() {
+        return gazetteer.lookup(AccountsInfo.Country.US, 90210);
+    }
+
+    @Benchmark
+    public Optional<PostalPlace> gazetteerMiss() {
+        return gazetteer.lookup(AccountsInfo.Country.US, 99999);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> httpLookup() throws Exception {
+        return mapper.readValue(restTemplate.getForObject(apiUrl, String.class), Map.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PostalLookupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,126 @@
+package com.rogers.accountmanager.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Unit tests for {@link ReplicaRoutingDataSource}, with two H2 databases standing in for the primary and the replica.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+
+    private DataSource replica;
+
+    private final AtomicBoolean replicaDown = new AtomicBoolean();
+
+    @BeforeEach
+    public void setup() {
+        primary = database("primary");
+        replica = new DelegatingDataSource(database("replica")) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (replicaDown.get()) {
+                    throw new SQLException("Connection refused");
+                }
+                return super.getConnection();
+            }
+        };
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToTheReplica() {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replica, "SELECT 0", 10);
+        routingDataSource.checkReplicaLag();
+
+        assertThat(routingDataSource.isReplicaUsable()).isTrue();
+        assertThat(origin(routingDataSource, true)).isEqualTo("replica");
+        assertThat(origin(routingDataSource, false)).isEqualTo("primary");
+        // outside of a transaction
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new LazyConnectionDataSourceProxy(routingDataSource));
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM origin", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void testReplicaIsUnusedUntilChecked() {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replica, "SELECT 0", 10);
+
+        assertThat(origin(routingDataSource, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToThePrimary() {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replica, "SELECT 60", 10);
+        routingDataSource.checkReplicaLag();
+
+        assertThat(routingDataSource.isReplicaUsable()).isFalse();
+        assertThat(origin(routingDataSource, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void testUnknownLagFallsBackToThePrimary() {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replica, "SELECT NULL", 10);
+        routingDataSource.checkReplicaLag();
+
+        assertThat(origin(routingDataSource, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void testLagIsReadFromSecondsBehindMaster() {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(
+            primary,
+            replica,
+            "SELECT 'Yes' AS Slave_IO_Running, 3 AS Seconds_Behind_Master",
+            10
+        );
+        routingDataSource.checkReplicaLag();
+
+        assertThat(origin(routingDataSource, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void testUnreachableReplicaFallsBackToThePrimaryUntilCheckedAgain() {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replica, "SELECT 0", 10);
+        routingDataSource.checkReplicaLag();
+
+        replicaDown.set(true);
+        assertThat(origin(routingDataSource, true)).isEqualTo("primary");
+        assertThat(routingDataSource.isReplicaUsable()).isFalse();
+        routingDataSource.checkReplicaLag();
+        assertThat(routingDataSource.isReplicaUsable()).isFalse();
+
+        replicaDown.set(false);
+        routingDataSource.checkReplicaLag();
+        assertThat(origin(routingDataSource, true)).isEqualTo("replica");
+    }
+
+    // the name of the database answering a query, in a read-only or read-write transaction
+    private static String origin(ReplicaRoutingDataSource routingDataSource, boolean readOnly) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM origin", String.class));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:replica-routing-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS origin (name VARCHAR(10))");
+        jdbcTemplate.update("DELETE FROM origin");
+        jdbcTemplate.update("INSERT INTO origin (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
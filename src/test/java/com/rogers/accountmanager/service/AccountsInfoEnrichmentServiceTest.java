@@ -0,0 +1,133 @@
+package com.rogers.accountmanager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.rogers.accountmanager.config.ApplicationProperties;
+import com.rogers.accountmanager.domain.AccountsInfo;
+import com.rogers.accountmanager.repository.AccountsInfoRepository;
+import com.rogers.accountmanager.service.geocoding.GeocodingService;
+import com.rogers.accountmanager.service.geocoding.PostalPlace;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Unit tests for {@link AccountsInfoEnrichmentService}.
+ */
+class AccountsInfoEnrichmentServiceTest {
+
+    private static final PostalPlace BEVERLY_HILLS = new PostalPlace("Beverly Hills", "CA", 34.0901, -118.4065);
+
+    private AccountsInfoRepository accountsInfoRepository;
+
+    private GeocodingService geocodingService;
+
+    private ThreadPoolTaskExecutor geocodingExecutor;
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private AccountsInfoEnrichmentService enrichmentService;
+
+    private AccountsInfo accountsInfo;
+
+    @BeforeEach
+    public void setup() {
+        accountsInfoRepository = mock(AccountsInfoRepository.class);
+        geocodingService = mock(GeocodingService.class);
+        geocodingExecutor = new ThreadPoolTaskExecutor();
+        geocodingExecutor.initialize();
+        applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        enrichmentService =
+            new AccountsInfoEnrichmentService(
+                accountsInfoRepository,
+                geocodingService,
+                geocodingExecutor,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                applicationProperties,
+                meterRegistry
+            );
+
+        accountsInfo =
+            new AccountsInfo()
+                .id("abc123")
+                .name("AAAAAAAAAA")
+                .email("a@a.com")
+                .country(AccountsInfo.Country.US)
+                .postalCode(90210)
+                .status(AccountsInfo.Status.REQUESTED);
+        when(accountsInfoRepository.findById("abc123")).thenReturn(Optional.of(accountsInfo));
+    }
+
+    @AfterEach
+    public void teardown() {
+        geocodingExecutor.shutdown();
+    }
+
+    @Test
+    void testKnownPostalCodeActivatesAccount() {
+        when(geocodingService.resolve(AccountsInfo.Country.US, 90210)).thenReturn(Optional.of(BEVERLY_HILLS));
+
+        enrichmentService.enrich("abc123", System.nanoTime());
+
+        assertThat(accountsInfo.getStatus()).isEqualTo(AccountsInfo.Status.ACTIVE);
+        assertThat(accountsInfo.getPlace()).isEqualTo("Beverly Hills");
+        assertThat(accountsInfo.getState()).isEqualTo("CA");
+        assertThat(meterRegistry.get("accounts.enrichment.lag").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testUnknownPostalCodeDeactivatesAccount() {
+        when(geocodingService.resolve(AccountsInfo.Country.US, 90210)).thenReturn(Optional.empty());
+
+        enrichmentService.enrich("abc123", System.nanoTime());
+
+        assertThat(accountsInfo.getStatus()).isEqualTo(AccountsInfo.Status.INACTIVE);
+        assertThat(accountsInfo.getPlace()).isNull();
+        assertThat(failures("unknown-postal-code")).isEqualTo(1);
+    }
+
+    @Test
+    void testGeocodingFailureKeepsAccountRequested() {
+        when(geocodingService.resolve(AccountsInfo.Country.US, 90210)).thenThrow(new ResourceAccessException("timeout"));
+
+        enrichmentService.enrich("abc123", System.nanoTime());
+
+        assertThat(accountsInfo.getStatus()).isEqualTo(AccountsInfo.Status.REQUESTED);
+        assertThat(failures("error")).isEqualTo(1);
+    }
+
+    @Test
+    void testAccountNoLongerRequestedIsSkipped() {
+        accountsInfo.setStatus(AccountsInfo.Status.ACTIVE);
+
+        enrichmentService.enrich("abc123", System.nanoTime());
+
+        verify(geocodingService, never()).resolve(any(), any());
+    }
+
+    @Test
+    void testSweepIsDisabledWhenSynchronous() {
+        enrichmentService.sweepRequestedAccounts();
+
+        verify(accountsInfoRepository, never()).findIdsByStatus(any(), any());
+    }
+
+    private double failures(String reason) {
+        return meterRegistry.get("accounts.enrichment.failures").tag("reason", reason).counter().count();
+    }
+}
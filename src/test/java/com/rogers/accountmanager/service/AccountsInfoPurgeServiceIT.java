@@ -0,0 +1,139 @@
+package com.rogers.accountmanager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rogers.accountmanager.IntegrationTest;
+import com.rogers.accountmanager.config.ApplicationProperties;
+import com.rogers.accountmanager.domain.AccountsInfo;
+import com.rogers.accountmanager.repository.AccountsInfoRepository;
+import com.rogers.accountmanager.service.dto.CountOfUsersGroupedByStateAndPlaceDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link AccountsInfoPurgeService}, with batches of 2 accounts.
+ */
+@IntegrationTest
+class AccountsInfoPurgeServiceIT {
+
+    private static final String STATE = "ZZ";
+
+    private static final String PLACE = "Purgeville";
+
+    @Autowired
+    private AccountsInfoRepository accountsInfoRepository;
+
+    @Autowired
+    private AccountsInfoRegionCounters accountsInfoRegionCounters;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<String> createdIds = new ArrayList<>();
+
+    private AccountsInfoPurgeService accountsInfoPurgeService;
+
+    @BeforeEach
+    public void init() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPurge().setBatchSize(2);
+        accountsInfoPurgeService =
+            new AccountsInfoPurgeService(
+                accountsInfoRepository,
+                accountsInfoRegionCounters,
+                transactionTemplate,
+                applicationProperties,
+                meterRegistry
+            );
+        accountsInfoRegionCounters.reconcile();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        createdIds.stream().filter(accountsInfoRepository::existsById).forEach(accountsInfoRepository::deleteById);
+    }
+
+    @Test
+    void testPurgeDeletesOnlyAccountsInactiveBeforeTheCutoff() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(1));
+        List<String> purged = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            purged.add(createChangedAt(AccountsInfo.Status.INACTIVE, cutoff.minus(Duration.ofDays(1))));
+        }
+        String recentlyInactive = createChangedAt(AccountsInfo.Status.INACTIVE, Instant.now());
+        String active = createChangedAt(AccountsInfo.Status.ACTIVE, cutoff.minus(Duration.ofDays(1)));
+        assertThat(regionCount()).isEqualTo(5);
+
+        assertThat(accountsInfoPurgeService.purgeInactiveBefore(cutoff)).isEqualTo(3);
+
+        assertThat(purged).noneMatch(accountsInfoRepository::existsById);
+        assertThat(accountsInfoRepository.existsById(recentlyInactive)).isTrue();
+        assertThat(accountsInfoRepository.existsById(active)).isTrue();
+        assertThat(meterRegistry.counter("accounts.purge.deleted").count()).isEqualTo(3);
+        // a full batch, then a partial one
+        assertThat(meterRegistry.counter("accounts.purge.batches").count()).isEqualTo(2);
+        assertThat(regionCount()).isEqualTo(2);
+        // only the purged accounts are evicted from the second-level cache
+        assertThat(purged).noneMatch(id -> entityManagerFactory.getCache().contains(AccountsInfo.class, id));
+        assertThat(entityManagerFactory.getCache().contains(AccountsInfo.class, active)).isTrue();
+    }
+
+    @Test
+    void testPurgeWithNothingToDeleteRunsNoBatch() {
+        createChangedAt(AccountsInfo.Status.INACTIVE, Instant.now());
+
+        assertThat(accountsInfoPurgeService.purgeInactiveBefore(Instant.now().minus(Duration.ofDays(1)))).isZero();
+
+        assertThat(meterRegistry.counter("accounts.purge.batches").count()).isZero();
+    }
+
+    private String createChangedAt(AccountsInfo.Status status, Instant statusChangedAt) {
+        AccountsInfo accountsInfo = accountsInfoRepository.saveAndFlush(
+            new AccountsInfo()
+                .name("john")
+                .email("purge" + createdIds.size() + "@localhost")
+                .country(AccountsInfo.Country.US)
+                .postalCode(90210)
+                .securityPin(1234)
+                .status(status)
+                .state(STATE)
+                .place(PLACE)
+        );
+        createdIds.add(accountsInfo.getId());
+        jdbcTemplate.update(
+            "update accounts_info set status_changed_at = ? where id = ?",
+            Timestamp.from(statusChangedAt),
+            accountsInfo.getId()
+        );
+        return accountsInfo.getId();
+    }
+
+    private long regionCount() {
+        return accountsInfoRegionCounters
+            .snapshot()
+            .stream()
+            .filter(row -> STATE.equals(row.getState()) && PLACE.equals(row.getPlace()))
+            .mapToLong(CountOfUsersGroupedByStateAndPlaceDTO::getCountOfUsers)
+            .sum();
+    }
+}
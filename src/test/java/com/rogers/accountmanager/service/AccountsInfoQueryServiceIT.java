@@ -0,0 +1,167 @@
+package com.rogers.accountmanager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rogers.accountmanager.IntegrationTest;
+import com.rogers.accountmanager.domain.AccountsInfo;
+import com.rogers.accountmanager.repository.AccountsInfoRepository;
+import com.rogers.accountmanager.service.criteria.AccountsInfoCriteria;
+import com.rogers.accountmanager.service.dto.AccountsInfoSummaryDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link AccountsInfoQueryService}.
+ */
+@IntegrationTest
+@Transactional
+class AccountsInfoQueryServiceIT {
+
+    @Autowired
+    private AccountsInfoQueryService accountsInfoQueryService;
+
+    @Autowired
+    private AccountsInfoRepository accountsInfoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AccountsInfo beverlyHills;
+
+    private AccountsInfo newYork;
+
+    private AccountsInfo paris;
+
+    @BeforeEach
+    public void init() {
+        beverlyHills = save("bh@localhost", AccountsInfo.Country.US, 90210, "CA", "Beverly Hills", 25, AccountsInfo.Status.ACTIVE);
+        newYork = save("ny@localhost", AccountsInfo.Country.US, 10001, "NY", "New York", 70, AccountsInfo.Status.ACTIVE);
+        paris = save("paris@localhost", AccountsInfo.Country.FR, 75001, "11", "Paris", 40, AccountsInfo.Status.INACTIVE);
+    }
+
+    @Test
+    void testFilterByCountryAndStatus() {
+        AccountsInfoCriteria criteria = new AccountsInfoCriteria();
+        criteria.country().setEquals(AccountsInfo.Country.US);
+        criteria.status().setIn(Arrays.asList(AccountsInfo.Status.ACTIVE, AccountsInfo.Status.REQUESTED));
+
+        assertThat(findIds(criteria)).contains(beverlyHills.getId(), newYork.getId()).doesNotContain(paris.getId());
+    }
+
+    @Test
+    void testFilterByStateAndPlace() {
+        AccountsInfoCriteria criteria = new AccountsInfoCriteria();
+        criteria.state().setEquals("11");
+        criteria.place().setEquals("Paris");
+
+        assertThat(findIds(criteria)).contains(paris.getId()).doesNotContain(beverlyHills.getId(), newYork.getId());
+    }
+
+    @Test
+    void testFilterByAgeRange() {
+        AccountsInfoCriteria criteria = new AccountsInfoCriteria();
+        criteria.age().setGreaterThanOrEqual(30);
+        criteria.age().setLessThanOrEqual(65);
+
+        assertThat(findIds(criteria)).contains(paris.getId()).doesNotContain(beverlyHills.getId(), newYork.getId());
+    }
+
+    @Test
+    void testFilterByPostalCode() {
+        AccountsInfoCriteria criteria = new AccountsInfoCriteria();
+        criteria.country().setEquals(AccountsInfo.Country.US);
+        criteria.postalCode().setEquals(90210);
+
+        assertThat(findIds(criteria)).contains(beverlyHills.getId()).doesNotContain(newYork.getId(), paris.getId());
+    }
+
+    @Test
+    void testSlicesSeekByIdWithoutGapsOrDuplicates() {
+        AccountsInfoCriteria criteria = new AccountsInfoCriteria();
+        criteria.country().setEquals(AccountsInfo.Country.US);
+
+        List<String> seen = new ArrayList<>();
+        String afterId = null;
+        Slice<AccountsInfoSummaryDTO> page;
+        do {
+            page = accountsInfoQueryService.findByCriteria(criteria, afterId, 1);
+            assertThat(page.getNumberOfElements()).isLessThanOrEqualTo(1);
+            page.forEach(summary -> seen.add(summary.getId()));
+            afterId = seen.isEmpty() ? null : seen.get(seen.size() - 1);
+        } while (page.hasNext());
+
+        assertThat(seen).isSorted().doesNotHaveDuplicates().containsExactlyElementsOf(findIds(criteria));
+        assertThat(seen).contains(beverlyHills.getId(), newYork.getId());
+    }
+
+    @Test
+    void testSummariesHoldOnlyListingColumns() {
+        AccountsInfoCriteria criteria = new AccountsInfoCriteria();
+        criteria.postalCode().setEquals(75001);
+
+        assertThat(accountsInfoQueryService.findByCriteria(criteria))
+            .filteredOn(summary -> paris.getId().equals(summary.getId()))
+            .singleElement()
+            .satisfies(
+                summary -> {
+                    assertThat(summary.getName()).isEqualTo(paris.getName());
+                    assertThat(summary.getCountry()).isEqualTo(AccountsInfo.Country.FR);
+                    assertThat(summary.getState()).isEqualTo("11");
+                    assertThat(summary.getPlace()).isEqualTo("Paris");
+                    assertThat(summary.getStatus()).isEqualTo(AccountsInfo.Status.INACTIVE);
+                }
+            );
+    }
+
+    @Test
+    void testCommonFiltersUseAnIndex() {
+        assertThat(explain("select * from accounts_info where country = 'US' and postal_code = 90210"))
+            .containsIgnoringCase("idx_accounts_info__country_postal_code")
+            .doesNotContainIgnoringCase("tableScan");
+        assertThat(explain("select * from accounts_info where status = 'ACTIVE' and country = 'US' and state = 'CA'"))
+            .containsIgnoringCase("idx_accounts_info__status_country_state")
+            .doesNotContainIgnoringCase("tableScan");
+        assertThat(explain("select * from accounts_info where country = 'FR' and state = '11' and place = 'Paris'"))
+            .containsIgnoringCase("idx_accounts_info__country_state_place")
+            .doesNotContainIgnoringCase("tableScan");
+    }
+
+    private List<String> findIds(AccountsInfoCriteria criteria) {
+        return accountsInfoQueryService.findByCriteria(criteria).stream().map(AccountsInfoSummaryDTO::getId).collect(Collectors.toList());
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+
+    private AccountsInfo save(
+        String email,
+        AccountsInfo.Country country,
+        Integer postalCode,
+        String state,
+        String place,
+        Integer age,
+        AccountsInfo.Status status
+    ) {
+        return accountsInfoRepository.saveAndFlush(
+            new AccountsInfo()
+                .name("john")
+                .email(email)
+                .country(country)
+                .postalCode(postalCode)
+                .state(state)
+                .place(place)
+                .age(age)
+                .status(status)
+                .securityPin(1234)
+        );
+    }
+}
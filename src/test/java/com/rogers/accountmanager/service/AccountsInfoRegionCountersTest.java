@@ -0,0 +1,123 @@
+package com.rogers.accountmanager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.rogers.accountmanager.config.ApplicationProperties;
+import com.rogers.accountmanager.domain.AccountsInfo;
+import com.rogers.accountmanager.repository.AccountsInfoRepository;
+import com.rogers.accountmanager.service.dto.CountOfUsersGroupedByStateAndPlaceDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AccountsInfoRegionCounters}.
+ */
+class AccountsInfoRegionCountersTest {
+
+    private AccountsInfoRepository accountsInfoRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private AccountsInfoRegionCounters regionCounters;
+
+    @BeforeEach
+    public void setup() {
+        accountsInfoRepository = mock(AccountsInfoRepository.class);
+        applicationProperties = new ApplicationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        regionCounters = new AccountsInfoRegionCounters(accountsInfoRepository, applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void testSeededFromDatabase() {
+        when(accountsInfoRepository.countGroupedByCountryAndStateAndPlace())
+            .thenReturn(
+                Arrays.asList(
+                    new CountOfUsersGroupedByStateAndPlaceDTO(AccountsInfo.Country.US, "CA", "Beverly Hills", 3L),
+                    new CountOfUsersGroupedByStateAndPlaceDTO(AccountsInfo.Country.FR, "11", "Paris", 2L)
+                )
+            );
+        assertThat(regionCounters.isSeeded()).isFalse();
+
+        regionCounters.reconcile();
+
+        assertThat(regionCounters.isSeeded()).isTrue();
+        assertThat(regionCounters.snapshot())
+            .extracting(CountOfUsersGroupedByStateAndPlaceDTO::getPlace, CountOfUsersGroupedByStateAndPlaceDTO::getCountOfUsers)
+            .containsExactlyInAnyOrder(tuple("Beverly Hills", 3L), tuple("Paris", 2L));
+        assertThat(meterRegistry.get("accounts.region-counters.drift").counter().count()).isZero();
+    }
+
+    @Test
+    void testEmptyPlacesAreNotListed() {
+        regionCounters.add(AccountsInfo.Country.US, "CA", "Beverly Hills", 1);
+        regionCounters.add(AccountsInfo.Country.US, "CA", "Beverly Hills", -1);
+        regionCounters.add(AccountsInfo.Country.US, "NY", "New York", 1);
+
+        assertThat(regionCounters.snapshot())
+            .singleElement()
+            .satisfies(row -> assertThat(row.getPlace()).isEqualTo("New York"));
+    }
+
+    @Test
+    void testReconcileCorrectsDrift() {
+        when(accountsInfoRepository.countGroupedByCountryAndStateAndPlace())
+            .thenReturn(Collections.emptyList())
+            .thenReturn(
+                Collections.singletonList(new CountOfUsersGroupedByStateAndPlaceDTO(AccountsInfo.Country.US, "CA", "Beverly Hills", 1L))
+            );
+        regionCounters.reconcile();
+        // an account deleted by a bulk query, and one created on another instance
+        regionCounters.add(AccountsInfo.Country.US, "NY", "New York", 1);
+
+        regionCounters.reconcile();
+
+        assertThat(regionCounters.snapshot())
+            .singleElement()
+            .satisfies(row -> assertThat(row.getPlace()).isEqualTo("Beverly Hills"));
+        assertThat(meterRegistry.get("accounts.region-counters.drift").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testDeltasAddedWhileReconcilingAreKept() {
+        when(accountsInfoRepository.countGroupedByCountryAndStateAndPlace())
+            .thenReturn(Collections.emptyList())
+            .thenAnswer(
+                invocation -> {
+                    // an account created after the query read its place, and counted before the counters are swapped
+                    regionCounters.add(AccountsInfo.Country.US, "CA", "Beverly Hills", 1);
+                    return Collections.singletonList(
+                        new CountOfUsersGroupedByStateAndPlaceDTO(AccountsInfo.Country.US, "CA", "Beverly Hills", 1L)
+                    );
+                }
+            );
+        regionCounters.reconcile();
+        regionCounters.add(AccountsInfo.Country.US, "CA", "Beverly Hills", 1);
+
+        regionCounters.reconcile();
+
+        assertThat(regionCounters.snapshot())
+            .singleElement()
+            .satisfies(row -> assertThat(row.getCountOfUsers()).isEqualTo(2L));
+        assertThat(meterRegistry.get("accounts.region-counters.drift").counter().count()).isZero();
+    }
+
+    @Test
+    void testDisabledCountersAreNeverSeeded() {
+        applicationProperties.getRegionCounters().setEnabled(false);
+        regionCounters = new AccountsInfoRegionCounters(accountsInfoRepository, applicationProperties, meterRegistry);
+
+        regionCounters.reconcile();
+
+        assertThat(regionCounters.isSeeded()).isFalse();
+    }
+}
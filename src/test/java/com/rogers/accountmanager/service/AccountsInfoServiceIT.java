@@ -0,0 +1,417 @@
+package com.rogers.accountmanager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.rogers.accountmanager.IntegrationTest;
+import com.rogers.accountmanager.domain.AccountsInfo;
+import com.rogers.accountmanager.repository.AccountsInfoRepository;
+import com.rogers.accountmanager.service.dto.AccountsInfoLookupDTO;
+import com.rogers.accountmanager.service.dto.CountOfUsersGroupedByStateAndPlaceDTO;
+import com.rogers.accountmanager.service.geocoding.GeocodingService;
+import com.rogers.accountmanager.service.geocoding.PostalPlace;
+import com.rogers.accountmanager.service.geocoding.ZippopotamClient;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Integration tests for {@link AccountsInfoService}.
+ * <p>
+ * Not transactional on purpose: the service must not hold a connection while zippopotam is called.
+ */
+@IntegrationTest
+class AccountsInfoServiceIT {
+
+    // not in the embedded gazetteer, so geocoding goes to zippopotam
+    private static final Integer REMOTE_POSTAL_CODE = 12345;
+
+    private static final PostalPlace SCHENECTADY = new PostalPlace("Schenectady", "NY", 42.8142, -73.9396);
+
+    @Autowired
+    private AccountsInfoService accountsInfoService;
+
+    @Autowired
+    private AccountsInfoRepository accountsInfoRepository;
+
+    @Autowired
+    private AccountsInfoRegionCounters accountsInfoRegionCounters;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private ZippopotamClient zippopotamClient;
+
+    private final List<Integer> activeConnectionsDuringCall = new ArrayList<>();
+
+    private final List<Boolean> transactionActiveDuringCall = new ArrayList<>();
+
+    private final List<String> createdIds = new ArrayList<>();
+
+    @BeforeEach
+    public void init() throws SQLException {
+        cacheManager.getCache(GeocodingService.POSTAL_LOOKUPS_CACHE).clear();
+        HikariDataSource hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+        when(zippopotamClient.fetch(any()))
+            .thenAnswer(
+                invocation -> {
+                    activeConnectionsDuringCall.add(hikariDataSource.getHikariPoolMXBean().getActiveConnections());
+                    transactionActiveDuringCall.add(TransactionSynchronizationManager.isActualTransactionActive());
+                    return SCHENECTADY;
+                }
+            );
+    }
+
+    @AfterEach
+    public void cleanup() {
+        createdIds.forEach(accountsInfoRepository::deleteById);
+    }
+
+    @Test
+    void testCreateHoldsNoConnectionDuringRemoteGeocoding() {
+        AccountsInfo result = create("create@localhost");
+
+        assertThat(activeConnectionsDuringCall).containsExactly(0);
+        assertThat(transactionActiveDuringCall).containsExactly(false);
+        assertThat(result.getStatus()).isEqualTo(AccountsInfo.Status.ACTIVE);
+        assertThat(accountsInfoRepository.findById(result.getId()))
+            .hasValueSatisfying(saved -> assertThat(saved.getPlace()).isEqualTo("Schenectady"));
+    }
+
+    @Test
+    void testUpdateHoldsNoConnectionDuringRemoteGeocoding() {
+        AccountsInfo accountsInfo = create("update@localhost");
+        accountsInfo.setName("updated");
+        accountsInfo.setPostalCode(REMOTE_POSTAL_CODE + 1);
+
+        accountsInfoService.update(accountsInfo);
+
+        assertThat(activeConnectionsDuringCall).containsExactly(0, 0);
+        assertThat(transactionActiveDuringCall).containsExactly(false, false);
+        assertThat(accountsInfoRepository.findById(accountsInfo.getId()))
+            .hasValueSatisfying(saved -> assertThat(saved.getName()).isEqualTo("updated"));
+    }
+
+    @Test
+    void testUpdateKeepingTheLocationIsOneStatement() {
+        AccountsInfo accountsInfo = create("onestatement@localhost");
+        cacheManager.getCache(GeocodingService.POSTAL_LOOKUPS_CACHE).clear();
+        accountsInfo.setName("updated");
+        Statistics statistics = statistics();
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(accountsInfoService.update(accountsInfo))
+            .hasValueSatisfying(result -> assertThat(result.getVersion()).isEqualTo(1L));
+
+        // the entity comes from the second-level cache and the postal code is not geocoded again
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements + 1);
+        assertThat(activeConnectionsDuringCall).hasSize(1);
+        assertThat(accountsInfoRepository.findById(accountsInfo.getId()))
+            .hasValueSatisfying(
+                saved -> {
+                    assertThat(saved.getName()).isEqualTo("updated");
+                    assertThat(saved.getPlace()).isEqualTo("Schenectady");
+                }
+            );
+    }
+
+    @Test
+    void testUpdateOfInactiveAccountIsRejected() {
+        AccountsInfo inactive = create("inactive@localhost");
+        accountsInfoService.changeStatus(inactive.getId(), AccountsInfo.Status.ACTIVE, AccountsInfo.Status.INACTIVE);
+        inactive.setVersion(null);
+        inactive.setName("updated");
+
+        assertThatThrownBy(() -> accountsInfoService.update(inactive)).isInstanceOf(AccountsInfoNotActiveException.class);
+        assertThat(accountsInfoService.update(new AccountsInfo().id("none"))).isEmpty();
+    }
+
+    @Test
+    void testDeleteInactiveUncountsItsRegion() {
+        accountsInfoRegionCounters.reconcile();
+        long schenectadyBefore = regionCount("NY", "Schenectady");
+        AccountsInfo accountsInfo = create("deleted@localhost");
+        accountsInfoService.changeStatus(accountsInfo.getId(), AccountsInfo.Status.ACTIVE, AccountsInfo.Status.INACTIVE);
+        // cached again by a read, its region is then known without a query
+        accountsInfoRepository.findById(accountsInfo.getId());
+        assertThat(regionCount("NY", "Schenectady")).isEqualTo(schenectadyBefore + 1);
+
+        assertThatThrownBy(() -> accountsInfoService.deleteInactive(accountsInfo.getId(), 4321))
+            .isInstanceOf(AccountsInfoNotDeletableException.class);
+        assertThat(accountsInfoService.deleteInactive(accountsInfo.getId(), 1234)).isTrue();
+        createdIds.remove(accountsInfo.getId());
+
+        assertThat(regionCount("NY", "Schenectady")).isEqualTo(schenectadyBefore);
+        assertThat(accountsInfoService.deleteInactive(accountsInfo.getId(), 1234)).isFalse();
+    }
+
+    @Test
+    void testConcurrentUpdatesLoseNothing() throws Exception {
+        AccountsInfo accountsInfo = create("concurrent@localhost");
+        int threads = 8;
+        int increments = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                futures.add(
+                    executor.submit(
+                        () -> {
+                            // read, modify and write back with the version read, retrying when another write came first
+                            for (int i = 0; i < increments;) {
+                                AccountsInfo read = accountsInfoService.findOne(accountsInfo.getId()).get();
+                                read.setAge(read.getAge() + 1);
+                                try {
+                                    accountsInfoService.update(read);
+                                    i++;
+                                } catch (ObjectOptimisticLockingFailureException e) {
+                                    // failed fast instead of waiting for the other write, read again
+                                }
+                            }
+                        }
+                    )
+                );
+            }
+            // a write waiting on a row lock for longer than the lock timeout would fail here
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(accountsInfoRepository.findById(accountsInfo.getId()))
+            .hasValueSatisfying(
+                saved -> {
+                    assertThat(saved.getAge()).isEqualTo(threads * increments);
+                    assertThat(saved.getVersion()).isEqualTo((long) threads * increments);
+                }
+            );
+    }
+
+    @Test
+    void testConcurrentStatusChangesSucceedOnce() throws Exception {
+        AccountsInfo accountsInfo = create("transition@localhost");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                futures.add(
+                    executor.submit(
+                        () -> {
+                            try {
+                                return accountsInfoService.changeStatus(
+                                    accountsInfo.getId(),
+                                    AccountsInfo.Status.ACTIVE,
+                                    AccountsInfo.Status.INACTIVE
+                                );
+                            } catch (AccountsInfoStatusConflictException e) {
+                                return false;
+                            }
+                        }
+                    )
+                );
+            }
+            int changed = 0;
+            for (Future<Boolean> future : futures) {
+                changed += future.get(30, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertThat(changed).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(accountsInfoRepository.findById(accountsInfo.getId()))
+            .hasValueSatisfying(
+                saved -> {
+                    assertThat(saved.getStatus()).isEqualTo(AccountsInfo.Status.INACTIVE);
+                    assertThat(saved.getVersion()).isEqualTo(1L);
+                }
+            );
+        assertThatThrownBy(
+                () -> accountsInfoService.changeStatus(accountsInfo.getId(), AccountsInfo.Status.INACTIVE, AccountsInfo.Status.ACTIVE)
+            )
+            .isInstanceOf(AccountsInfoStatusTransitionException.class);
+        assertThat(accountsInfoService.changeStatus("none", AccountsInfo.Status.ACTIVE, AccountsInfo.Status.INACTIVE)).isFalse();
+    }
+
+    @Test
+    void testUnknownPostalCodeIsNotSaved() {
+        when(zippopotamClient.fetch(any())).thenReturn(PostalPlace.UNKNOWN);
+        long databaseSizeBeforeCreate = accountsInfoRepository.count();
+
+        assertThatThrownBy(() -> create("unknown@localhost")).isInstanceOf(UnknownPostalCodeException.class);
+
+        assertThat(accountsInfoRepository.count()).isEqualTo(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    void testCountGroupedByCountryAndStateAndPlace() {
+        create("first@localhost");
+        create("second@localhost");
+
+        assertThat(accountsInfoService.countGroupedByCountryAndStateAndPlace())
+            .filteredOn(row -> "Schenectady".equals(row.getPlace()))
+            .singleElement()
+            .satisfies(
+                row -> {
+                    assertThat(row.getCountry()).isEqualTo(AccountsInfo.Country.US);
+                    assertThat(row.getState()).isEqualTo("NY");
+                    assertThat(row.getCountOfUsers()).isEqualTo(2L);
+                }
+            );
+    }
+
+    @Test
+    void testRegionCountersFollowWrites() {
+        accountsInfoRegionCounters.reconcile();
+        long schenectadyBefore = regionCount("NY", "Schenectady");
+        long beverlyHillsBefore = regionCount("CA", "Beverly Hills");
+
+        AccountsInfo accountsInfo = create("moving@localhost");
+        assertThat(regionCount("NY", "Schenectady")).isEqualTo(schenectadyBefore + 1);
+
+        // in the embedded gazetteer
+        accountsInfo.setPostalCode(90210);
+        accountsInfoService.update(accountsInfo);
+        assertThat(regionCount("NY", "Schenectady")).isEqualTo(schenectadyBefore);
+        assertThat(regionCount("CA", "Beverly Hills")).isEqualTo(beverlyHillsBefore + 1);
+
+        accountsInfoService.delete(accountsInfo.getId());
+        createdIds.remove(accountsInfo.getId());
+        assertThat(regionCount("CA", "Beverly Hills")).isEqualTo(beverlyHillsBefore);
+    }
+
+    @Test
+    void testExportAllStreamsEveryAccountInIdOrder() {
+        for (int i = 0; i < 3; i++) {
+            create("export" + i + "@localhost");
+        }
+
+        List<String> exported = new ArrayList<>();
+        long count = accountsInfoService.exportAll(accountsInfo -> exported.add(accountsInfo.getId()));
+
+        assertThat(count).isEqualTo(accountsInfoRepository.count());
+        assertThat(exported).hasSize((int) count).isSorted().containsAll(createdIds);
+    }
+
+    @Test
+    void testFindSummaryIsServedFromSecondLevelCache() {
+        AccountsInfo accountsInfo = create("cached@localhost");
+        Statistics statistics = statistics();
+        long hits = statistics.getDomainDataRegionStatistics(AccountsInfo.class.getName()).getHitCount();
+        long loads = statistics.getEntityStatistics(AccountsInfo.class.getName()).getLoadCount();
+
+        assertThat(accountsInfoService.findSummary(accountsInfo.getId()))
+            .hasValueSatisfying(summary -> assertThat(summary.getPlace()).isEqualTo("Schenectady"));
+
+        assertThat(statistics.getDomainDataRegionStatistics(AccountsInfo.class.getName()).getHitCount()).isGreaterThan(hits);
+        assertThat(statistics.getEntityStatistics(AccountsInfo.class.getName()).getLoadCount()).isEqualTo(loads);
+    }
+
+    @Test
+    void testFindSummaryByEmailFollowsEmailChanges() {
+        AccountsInfo accountsInfo = create("before@localhost");
+        Statistics statistics = statistics();
+        long hits = statistics.getNaturalIdStatistics(AccountsInfo.class.getName()).getCacheHitCount();
+
+        assertThat(accountsInfoService.findSummaryByEmail("before@localhost"))
+            .hasValueSatisfying(summary -> assertThat(summary.getId()).isEqualTo(accountsInfo.getId()));
+        assertThat(statistics.getNaturalIdStatistics(AccountsInfo.class.getName()).getCacheHitCount()).isGreaterThan(hits);
+
+        accountsInfo.setEmail("after@localhost");
+        accountsInfoService.update(accountsInfo);
+
+        assertThat(accountsInfoService.findSummaryByEmail("before@localhost")).isEmpty();
+        assertThat(accountsInfoService.findSummaryByEmail("after@localhost"))
+            .hasValueSatisfying(summary -> assertThat(summary.getId()).isEqualTo(accountsInfo.getId()));
+    }
+
+    @Test
+    void testFindVersionFollowsUpdates() {
+        AccountsInfo accountsInfo = create("versioned@localhost");
+        assertThat(accountsInfo.getVersion()).isZero();
+        assertThat(accountsInfoService.findVersion(accountsInfo.getId())).contains(0L);
+
+        accountsInfo.setName("updated");
+        AccountsInfo result = accountsInfoService.update(accountsInfo).get();
+
+        assertThat(result.getVersion()).isEqualTo(1L);
+        assertThat(accountsInfoService.findVersion(accountsInfo.getId())).contains(1L);
+        // not in the second-level cache, read by the version-only query
+        entityManagerFactory.getCache().evict(AccountsInfo.class, accountsInfo.getId());
+        assertThat(accountsInfoService.findVersion(accountsInfo.getId())).contains(1L);
+        assertThat(accountsInfoService.findVersion("none")).isEmpty();
+    }
+
+    @Test
+    void testFindSummariesKeepsRequestOrderInOneQuery() {
+        AccountsInfo first = create("mget1@localhost");
+        AccountsInfo second = create("mget2@localhost");
+        Statistics statistics = statistics();
+        long queries = statistics.getQueryExecutionCount();
+
+        List<AccountsInfoLookupDTO> lookups = accountsInfoService.findSummaries(
+            Arrays.asList(second.getId(), "none", first.getId(), second.getId())
+        );
+
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(queries + 1);
+        assertThat(lookups).extracting(AccountsInfoLookupDTO::getId).containsExactly(second.getId(), "none", first.getId(), second.getId());
+        assertThat(lookups).extracting(AccountsInfoLookupDTO::isFound).containsExactly(true, false, true, true);
+        assertThat(lookups.get(0).getAccountsInfo().getPlace()).isEqualTo("Schenectady");
+        assertThat(lookups.get(1).getAccountsInfo()).isNull();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long regionCount(String state, String place) {
+        return accountsInfoRegionCounters
+            .snapshot()
+            .stream()
+            .filter(row -> row.getCountry() == AccountsInfo.Country.US && state.equals(row.getState()) && place.equals(row.getPlace()))
+            .mapToLong(CountOfUsersGroupedByStateAndPlaceDTO::getCountOfUsers)
+            .sum();
+    }
+
+    private AccountsInfo create(String email) {
+        AccountsInfo accountsInfo = new AccountsInfo()
+            .name("john")
+            .email(email)
+            .country(AccountsInfo.Country.US)
+            .postalCode(REMOTE_POSTAL_CODE)
+            .age(0)
+            .securityPin(1234);
+        AccountsInfo result = accountsInfoService.create(accountsInfo);
+        createdIds.add(result.getId());
+        return result;
+    }
+}
@@ -0,0 +1,101 @@
+package com.rogers.accountmanager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link BlockAccountIdGenerator}, with blocks reserved in memory instead of the database.
+ */
+class BlockAccountIdGeneratorTest {
+
+    private final AtomicLong nextValue = new AtomicLong(BlockAccountIdGenerator.FIRST_VALUE);
+
+    private final AtomicInteger reservations = new AtomicInteger();
+
+    private BlockAccountIdGenerator.BlockSource blockSource;
+
+    @BeforeEach
+    public void setup() {
+        blockSource =
+            size -> {
+                reservations.incrementAndGet();
+                return nextValue.getAndAdd(size);
+            };
+    }
+
+    @Test
+    void testIdsAreSixBase36CharactersNeverHexadecimalOnly() {
+        AccountIdGenerator generator = new BlockAccountIdGenerator(blockSource, 10, 4);
+
+        assertThat(generator.nextId()).isEqualTo("g00000");
+        assertThat(generator.nextId()).isEqualTo("g00001");
+        assertThat(BlockAccountIdGenerator.format(BlockAccountIdGenerator.END_VALUE - 1)).isEqualTo("zzzzzz");
+        assertThatThrownBy(() -> BlockAccountIdGenerator.format(BlockAccountIdGenerator.END_VALUE))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> BlockAccountIdGenerator.format(0xffffffL)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testBlocksAreReservedOnlyWhenExhausted() {
+        AccountIdGenerator generator = new BlockAccountIdGenerator(blockSource, 10, 4);
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ids.add(generator.nextId());
+        }
+
+        assertThat(ids).doesNotHaveDuplicates().isSorted();
+        // stripes do not span blocks: 4 + 4 + 2 ids per block
+        assertThat(reservations).hasValue(3);
+    }
+
+    @Test
+    void testGeneratorsSharingABlockSourceNeverCollide() throws Exception {
+        // two nodes, eight threads each
+        List<AccountIdGenerator> generators = new ArrayList<>();
+        generators.add(new BlockAccountIdGenerator(blockSource, 100, 8));
+        generators.add(new BlockAccountIdGenerator(blockSource, 100, 8));
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 16; thread++) {
+                AccountIdGenerator generator = generators.get(thread % 2);
+                futures.add(
+                    executor.submit(
+                        () -> {
+                            for (int i = 0; i < 5000; i++) {
+                                assertThat(ids.add(generator.nextId())).isTrue();
+                            }
+                        }
+                    )
+                );
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(16 * 5000);
+    }
+
+    @Test
+    void testStripeLargerThanBlockIsRejected() {
+        assertThatThrownBy(() -> new BlockAccountIdGenerator(blockSource, 10, 20)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
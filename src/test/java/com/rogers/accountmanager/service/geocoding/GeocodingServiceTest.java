@@ -0,0 +1,176 @@
+package com.rogers.accountmanager.service.geocoding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.rogers.accountmanager.domain.AccountsInfo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Unit tests for {@link GeocodingService}.
+ */
+class GeocodingServiceTest {
+
+    private static final PostalPlace BEVERLY_HILLS = new PostalPlace("Beverly Hills", "CA", 34.0901, -118.4065);
+
+    private static final PostalKey KEY = new PostalKey(AccountsInfo.Country.US, 90210);
+
+    private PostalGazetteer postalGazetteer;
+
+    private ZippopotamClient zippopotamClient;
+
+    private MeterRegistry meterRegistry;
+
+    private GeocodingService geocodingService;
+
+    @BeforeEach
+    public void setup() {
+        postalGazetteer = mock(PostalGazetteer.class);
+        when(postalGazetteer.lookup(any(), any())).thenReturn(Optional.empty());
+        zippopotamClient = mock(ZippopotamClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        geocodingService =
+            new GeocodingService(
+                postalGazetteer,
+                zippopotamClient,
+                new ConcurrentMapCacheManager(GeocodingService.POSTAL_LOOKUPS_CACHE),
+                meterRegistry
+            );
+    }
+
+    @Test
+    void testGazetteerHitSkipsUpstream() {
+        when(postalGazetteer.lookup(AccountsInfo.Country.US, 90210)).thenReturn(Optional.of(BEVERLY_HILLS));
+
+        assertThat(geocodingService.resolve(AccountsInfo.Country.US, 90210)).contains(BEVERLY_HILLS);
+        verify(zippopotamClient, never()).fetch(any());
+        assertThat(count("geocoding.gazetteer.gets", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void testUpstreamResultIsCached() {
+        when(zippopotamClient.fetch(KEY)).thenReturn(BEVERLY_HILLS);
+
+        assertThat(geocodingService.resolve(AccountsInfo.Country.US, 90210)).contains(BEVERLY_HILLS);
+        assertThat(geocodingService.resolve(AccountsInfo.Country.US, 90210)).contains(BEVERLY_HILLS);
+
+        verify(zippopotamClient, times(1)).fetch(KEY);
+        assertThat(count("geocoding.cache.gets", "miss")).isEqualTo(1);
+        assertThat(count("geocoding.cache.gets", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void testUnknownPostalCodeIsNegativelyCached() {
+        when(zippopotamClient.fetch(KEY)).thenReturn(PostalPlace.UNKNOWN);
+
+        assertThat(geocodingService.resolve(AccountsInfo.Country.US, 90210)).isEmpty();
+        assertThat(geocodingService.resolve(AccountsInfo.Country.US, 90210)).isEmpty();
+
+        verify(zippopotamClient, times(1)).fetch(KEY);
+        assertThat(count("geocoding.cache.gets", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void testUpstreamFailureIsNotCached() {
+        when(zippopotamClient.fetch(KEY)).thenThrow(new ResourceAccessException("timeout")).thenReturn(BEVERLY_HILLS);
+
+        assertThatThrownBy(() -> geocodingService.resolve(AccountsInfo.Country.US, 90210)).isInstanceOf(ResourceAccessException.class);
+        assertThat(geocodingService.resolve(AccountsInfo.Country.US, 90210)).contains(BEVERLY_HILLS);
+
+        verify(zippopotamClient, times(2)).fetch(KEY);
+    }
+
+    @Test
+    void testConcurrentMissesShareOneUpstreamCall() throws Exception {
+        int callers = 8;
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        when(zippopotamClient.fetch(KEY))
+            .thenAnswer(
+                invocation -> {
+                    leaderStarted.countDown();
+                    releaseLeader.await(10, TimeUnit.SECONDS);
+                    return BEVERLY_HILLS;
+                }
+            );
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Optional<PostalPlace>>> results = new ArrayList<>();
+            results.add(executor.submit(() -> geocodingService.resolve(AccountsInfo.Country.US, 90210)));
+            assertThat(leaderStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> geocodingService.resolve(AccountsInfo.Country.US, 90210)));
+            }
+            long deadline = System.currentTimeMillis() + 10000;
+            while (meterRegistry.get("geocoding.upstream.coalesced").counter().count() < callers - 1) {
+                assertThat(System.currentTimeMillis()).isLessThan(deadline);
+                Thread.sleep(10);
+            }
+            releaseLeader.countDown();
+
+            for (Future<Optional<PostalPlace>> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).contains(BEVERLY_HILLS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(zippopotamClient, times(1)).fetch(KEY);
+    }
+
+    @Test
+    void testCoalescedCallersSeeUpstreamFailure() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLeader = new CountDownLatch(1);
+        when(zippopotamClient.fetch(KEY))
+            .thenAnswer(
+                invocation -> {
+                    leaderStarted.countDown();
+                    releaseLeader.await(10, TimeUnit.SECONDS);
+                    throw new ResourceAccessException("timeout");
+                }
+            );
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<PostalPlace>> leader = executor.submit(() -> geocodingService.resolve(AccountsInfo.Country.US, 90210));
+            assertThat(leaderStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<Optional<PostalPlace>> follower = executor.submit(() -> geocodingService.resolve(AccountsInfo.Country.US, 90210));
+            long deadline = System.currentTimeMillis() + 10000;
+            while (meterRegistry.get("geocoding.upstream.coalesced").counter().count() < 1) {
+                assertThat(System.currentTimeMillis()).isLessThan(deadline);
+                Thread.sleep(10);
+            }
+            releaseLeader.countDown();
+
+            assertThatThrownBy(() -> leader.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(ResourceAccessException.class);
+            assertThatThrownBy(() -> follower.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(ResourceAccessException.class);
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(zippopotamClient, times(1)).fetch(KEY);
+    }
+
+    private double count(String name, String result) {
+        return meterRegistry.get(name).tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,63 @@
+package com.rogers.accountmanager.service.geocoding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rogers.accountmanager.config.ApplicationProperties;
+import com.rogers.accountmanager.domain.AccountsInfo;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+/**
+ * Unit tests for {@link PostalGazetteer} and {@link PostalGazetteerBuilder}.
+ */
+class PostalGazetteerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLookupInBuiltIndex() throws Exception {
+        Path index = tempDir.resolve("postal-codes.idx");
+        new PostalGazetteerBuilder()
+            .add("US", 90210, "Beverly Hills", "CA", 34.0901, -118.4065)
+            .add("DE", 80331, "München", "BY", 48.1345, 11.571)
+            .add("FR", 75001, "Paris", "11", 48.8592, 2.3417)
+            .add("US", 90210, "Duplicate", "XX", 0, 0)
+            .write(index);
+
+        PostalGazetteer gazetteer = gazetteer(index.toUri().toString());
+
+        assertThat(gazetteer.size()).isEqualTo(3);
+        assertThat(gazetteer.lookup(AccountsInfo.Country.US, 90210))
+            .contains(new PostalPlace("Beverly Hills", "CA", 34.0901, -118.4065));
+        assertThat(gazetteer.lookup(AccountsInfo.Country.DE, 80331)).contains(new PostalPlace("München", "BY", 48.1345, 11.571));
+        assertThat(gazetteer.lookup(AccountsInfo.Country.FR, 75001)).contains(new PostalPlace("Paris", "11", 48.8592, 2.3417));
+        assertThat(gazetteer.lookup(AccountsInfo.Country.ES, 80331)).isEmpty();
+        assertThat(gazetteer.lookup(AccountsInfo.Country.US, 90211)).isEmpty();
+        assertThat(gazetteer.lookup(AccountsInfo.Country.US, null)).isEmpty();
+    }
+
+    @Test
+    void testBundledIndexIsLoaded() throws Exception {
+        PostalGazetteer gazetteer = gazetteer(new ApplicationProperties().getGeocoding().getGazetteer().getLocation());
+
+        assertThat(gazetteer.size()).isPositive();
+        assertThat(gazetteer.lookup(AccountsInfo.Country.US, 90210)).map(PostalPlace::getPlaceName).contains("Beverly Hills");
+    }
+
+    @Test
+    void testMissingIndexFallsBackToEmpty() throws Exception {
+        PostalGazetteer gazetteer = gazetteer(tempDir.resolve("missing.idx").toUri().toString());
+
+        assertThat(gazetteer.size()).isZero();
+        assertThat(gazetteer.lookup(AccountsInfo.Country.US, 90210)).isEmpty();
+    }
+
+    private static PostalGazetteer gazetteer(String location) throws Exception {
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getGeocoding().getGazetteer().setLocation(location);
+        return new PostalGazetteer(properties, new DefaultResourceLoader());
+    }
+}
@@ -0,0 +1,85 @@
+package com.rogers.accountmanager.service.geocoding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rogers.accountmanager.config.ApplicationProperties;
+import com.rogers.accountmanager.domain.AccountsInfo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Unit tests for {@link ZippopotamClient}.
+ */
+class ZippopotamClientTest {
+
+    private static final String PAYLOAD =
+        "{\"post code\": \"90210\", \"country\": \"United States\", \"country abbreviation\": \"US\", \"places\": " +
+        "[{\"place name\": \"Beverly Hills\", \"longitude\": \"-118.4065\", \"state\": \"California\", " +
+        "\"state abbreviation\": \"CA\", \"latitude\": \"34.0901\"}]}";
+
+    private MockRestServiceServer server;
+
+    private MeterRegistry meterRegistry;
+
+    private ZippopotamClient client;
+
+    @BeforeEach
+    public void setup() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        meterRegistry = new SimpleMeterRegistry();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getGeocoding().getUpstream().setBaseUrl("https://zippopotam.test");
+        client = new ZippopotamClient(restTemplate, new ObjectMapper(), applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void testFetchKnownPostalCode() {
+        server
+            .expect(requestTo("https://zippopotam.test/US/90210"))
+            .andExpect(method(HttpMethod.GET))
+            .andRespond(withSuccess(PAYLOAD, MediaType.APPLICATION_JSON));
+
+        PostalPlace place = client.fetch(new PostalKey(AccountsInfo.Country.US, 90210));
+
+        assertThat(place).isEqualTo(new PostalPlace("Beverly Hills", "CA", 34.0901, -118.4065));
+        assertThat(meterRegistry.get("geocoding.upstream.requests").tag("outcome", "success").timer().count()).isEqualTo(1);
+        server.verify();
+    }
+
+    @Test
+    void testFetchUnknownPostalCode() {
+        server
+            .expect(requestTo("https://zippopotam.test/US/99999"))
+            .andRespond(withStatus(HttpStatus.NOT_FOUND).contentType(MediaType.APPLICATION_JSON).body("{}"));
+
+        PostalPlace place = client.fetch(new PostalKey(AccountsInfo.Country.US, 99999));
+
+        assertThat(place.isUnknown()).isTrue();
+        assertThat(meterRegistry.get("geocoding.upstream.requests").tag("outcome", "not-found").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testFetchUpstreamFailure() {
+        server.expect(requestTo("https://zippopotam.test/US/90210")).andRespond(withServerError());
+
+        assertThatThrownBy(() -> client.fetch(new PostalKey(AccountsInfo.Country.US, 90210)))
+            .isInstanceOf(HttpServerErrorException.class);
+        assertThat(meterRegistry.get("geocoding.upstream.requests").tag("outcome", "error").timer().count()).isEqualTo(1);
+    }
+}
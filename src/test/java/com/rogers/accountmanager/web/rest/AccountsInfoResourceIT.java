@@ -1,7 +1,7 @@
-/*
 package com.rogers.accountmanager.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -9,24 +9,35 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.rogers.accountmanager.IntegrationTest;
 import com.rogers.accountmanager.domain.AccountsInfo;
 import com.rogers.accountmanager.repository.AccountsInfoRepository;
+import com.rogers.accountmanager.web.rest.errors.ErrorConstants;
+import com.rogers.accountmanager.web.rest.vm.AccountsInfoIdsVM;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
-import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
-*/
 /**
  * Integration tests for the {@link AccountsInfoResource} REST controller.
- *//*
-
+ * <p>
+ * Not transactional, so that writes are flushed and the statements they run can be counted with the Hibernate
+ * statistics; the accounts created by a test are deleted after it.
+ */
 @IntegrationTest
 @AutoConfigureMockMvc
 @WithMockUser
@@ -35,567 +46,605 @@ class AccountsInfoResourceIT {
     private static final String DEFAULT_NAME = "AAAAAAAAAA";
     private static final String UPDATED_NAME = "BBBBBBBBBB";
 
-    private static final String DEFAULT_EMAIL = "AAAAAAAAAA";
-    private static final String UPDATED_EMAIL = "BBBBBBBBBB";
-
-    private static final String DEFAULT_COUNTRY = "AAAAAAAAAA";
-    private static final String UPDATED_COUNTRY = "BBBBBBBBBB";
+    private static final AccountsInfo.Country DEFAULT_COUNTRY = AccountsInfo.Country.US;
 
-    private static final Integer DEFAULT_POSTAL_CODE = 0;
-    private static final Integer UPDATED_POSTAL_CODE = 1;
+    // in the embedded gazetteer, so geocoding does not call zippopotam
+    private static final Integer DEFAULT_POSTAL_CODE = 90210;
 
     private static final Integer DEFAULT_AGE = 1;
-    private static final Integer UPDATED_AGE = 2;
-
-    private static final String DEFAULT_STATUS = "AAAAAAAAAA";
-    private static final String UPDATED_STATUS = "BBBBBBBBBB";
-
-    private static final String DEFAULT_PLACE = "AAAAAAAAAA";
-    private static final String UPDATED_PLACE = "BBBBBBBBBB";
-
-    private static final String DEFAULT_STATE = "AA";
-    private static final String UPDATED_STATE = "BB";
-
-    private static final Double DEFAULT_LONGITUDE = 1D;
-    private static final Double UPDATED_LONGITUDE = 2D;
-
-    private static final Double DEFAULT_LATITUDE = 1D;
-    private static final Double UPDATED_LATITUDE = 2D;
 
     private static final Integer DEFAULT_SECURITY_PIN = 4;
-    private static final Integer UPDATED_SECURITY_PIN = 5;
 
     private static final String ENTITY_API_URL = "/api/accounts-infos";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
-    private static Random random = new Random();
-    private static AtomicLong count = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
+    private static final AtomicLong count = new AtomicLong();
 
     @Autowired
     private AccountsInfoRepository accountsInfoRepository;
 
     @Autowired
-    private EntityManager em;
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
 
     @Autowired
     private MockMvc restAccountsInfoMockMvc;
 
-    private AccountsInfo accountsInfo;
+    private final List<String> createdIds = new ArrayList<>();
 
-    */
-/**
- * Create an entity for this test.
- *
- * This is a static method, as tests for other entities might also need it,
- * if they test an entity which requires the current entity.
- *//*
-
-    public static AccountsInfo createEntity(EntityManager em) {
-        AccountsInfo accountsInfo = new AccountsInfo()
+    private Statistics statistics;
+
+    /**
+     * Create an entity for this test, with an email of its own.
+     */
+    public static AccountsInfo createEntity() {
+        return new AccountsInfo()
             .name(DEFAULT_NAME)
-            .email(DEFAULT_EMAIL)
-            //            .country(DEFAULT_COUNTRY)
+            .email("account" + count.incrementAndGet() + "@localhost")
+            .country(DEFAULT_COUNTRY)
             .postalCode(DEFAULT_POSTAL_CODE)
             .age(DEFAULT_AGE)
-            //            .status(DEFAULT_STATUS)
-            .place(DEFAULT_PLACE)
-            .state(DEFAULT_STATE)
-            .longitude(DEFAULT_LONGITUDE)
-            .latitude(DEFAULT_LATITUDE)
             .securityPin(DEFAULT_SECURITY_PIN);
-        return accountsInfo;
-    }
-
-    */
-/**
- * Create an updated entity for this test.
- *
- * This is a static method, as tests for other entities might also need it,
- * if they test an entity which requires the current entity.
- *//*
-
-    public static AccountsInfo createUpdatedEntity(EntityManager em) {
-        AccountsInfo accountsInfo = new AccountsInfo()
-            .name(UPDATED_NAME)
-            .email(UPDATED_EMAIL)
-            //            .country(UPDATED_COUNTRY)
-            .postalCode(UPDATED_POSTAL_CODE)
-            .age(UPDATED_AGE)
-            //            .status(UPDATED_STATUS)
-            .place(UPDATED_PLACE)
-            .state(UPDATED_STATE)
-            .longitude(UPDATED_LONGITUDE)
-            .latitude(UPDATED_LATITUDE)
-            .securityPin(UPDATED_SECURITY_PIN);
-        return accountsInfo;
     }
 
     @BeforeEach
     public void initTest() {
-        accountsInfo = createEntity(em);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
     }
 
-    @Test
-    @Transactional
-    void createAccountsInfo() throws Exception {
-        int databaseSizeBeforeCreate = accountsInfoRepository.findAll().size();
-        // Create the AccountsInfo
-        restAccountsInfoMockMvc
-            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(accountsInfo)))
-            .andExpect(status().isCreated());
-
-        // Validate the AccountsInfo in the database
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeCreate + 1);
-        AccountsInfo testAccountsInfo = accountsInfoList.get(accountsInfoList.size() - 1);
-        assertThat(testAccountsInfo.getName()).isEqualTo(DEFAULT_NAME);
-        assertThat(testAccountsInfo.getEmail()).isEqualTo(DEFAULT_EMAIL);
-        assertThat(testAccountsInfo.getCountry()).isEqualTo(DEFAULT_COUNTRY);
-        assertThat(testAccountsInfo.getPostalCode()).isEqualTo(DEFAULT_POSTAL_CODE);
-        assertThat(testAccountsInfo.getAge()).isEqualTo(DEFAULT_AGE);
-        assertThat(testAccountsInfo.getStatus()).isEqualTo(DEFAULT_STATUS);
-        assertThat(testAccountsInfo.getPlace()).isEqualTo(DEFAULT_PLACE);
-        assertThat(testAccountsInfo.getState()).isEqualTo(DEFAULT_STATE);
-        assertThat(testAccountsInfo.getLongitude()).isEqualTo(DEFAULT_LONGITUDE);
-        assertThat(testAccountsInfo.getLatitude()).isEqualTo(DEFAULT_LATITUDE);
-        assertThat(testAccountsInfo.getSecurityPin()).isEqualTo(DEFAULT_SECURITY_PIN);
+    @AfterEach
+    public void cleanup() {
+        createdIds.stream().filter(accountsInfoRepository::existsById).forEach(accountsInfoRepository::deleteById);
     }
 
     @Test
-    @Transactional
-    void createAccountsInfoWithExistingId() throws Exception {
-        // Create the AccountsInfo with an existing ID
-        accountsInfo.setId(1L);
-
-        int databaseSizeBeforeCreate = accountsInfoRepository.findAll().size();
+    void createAccountsInfoRunsOneInsert() throws Exception {
+        long databaseSizeBeforeCreate = accountsInfoRepository.count();
+        statistics.clear();
 
-        // An entity with an existing ID cannot be created, so this API call must fail
-        restAccountsInfoMockMvc
-            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(accountsInfo)))
-            .andExpect(status().isBadRequest());
-
-        // Validate the AccountsInfo in the database
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeCreate);
+        MvcResult result = restAccountsInfoMockMvc
+            .perform(
+                post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(createEntity()))
+            )
+            .andExpect(status().isCreated())
+            .andReturn();
+
+        // the new account is persisted, not merged: no select before the insert
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        String id = idOf(result);
+        createdIds.add(id);
+        assertThat(id).matches("[g-z][0-9a-z]{5}");
+        assertThat(accountsInfoRepository.count()).isEqualTo(databaseSizeBeforeCreate + 1);
+        assertThat(accountsInfoRepository.findById(id))
+            .hasValueSatisfying(
+                accountsInfo -> {
+                    assertThat(accountsInfo.getStatus()).isEqualTo(AccountsInfo.Status.ACTIVE);
+                    assertThat(accountsInfo.getPlace()).isEqualTo("Beverly Hills");
+                    assertThat(accountsInfo.getVersion()).isZero();
+                }
+            );
     }
 
     @Test
-    @Transactional
-    void checkNameIsRequired() throws Exception {
-        int databaseSizeBeforeTest = accountsInfoRepository.findAll().size();
-        // set the field null
-        accountsInfo.setName(null);
-
-        // Create the AccountsInfo, which fails.
+    void createAccountsInfoWithExistingId() throws Exception {
+        long databaseSizeBeforeCreate = accountsInfoRepository.count();
 
         restAccountsInfoMockMvc
-            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(accountsInfo)))
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(createEntity().id("abc123")))
+            )
             .andExpect(status().isBadRequest());
 
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeTest);
+        assertThat(accountsInfoRepository.count()).isEqualTo(databaseSizeBeforeCreate);
     }
 
     @Test
-    @Transactional
-    void checkEmailIsRequired() throws Exception {
-        int databaseSizeBeforeTest = accountsInfoRepository.findAll().size();
-        // set the field null
-        accountsInfo.setEmail(null);
+    void createAccountsInfosAreBatched() {
+        List<AccountsInfo> accountsInfos = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            accountsInfos.add(createEntity().state("CA").place("Beverly Hills"));
+        }
+        statistics.clear();
+
+        transactionTemplate.execute(status -> accountsInfoRepository.saveAll(accountsInfos));
+        accountsInfos.forEach(accountsInfo -> createdIds.add(accountsInfo.getId()));
+
+        // hibernate.jdbc.batch_size is 25
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(30);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        // the primary key is internal_id, increasing in insertion order
+        List<String> idsByInternalId = jdbcTemplate.queryForList(
+            "SELECT id FROM accounts_info WHERE id IN (:ids) ORDER BY internal_id",
+            Collections.singletonMap("ids", createdIds),
+            String.class
+        );
+        assertThat(idsByInternalId).isEqualTo(createdIds);
+    }
 
-        // Create the AccountsInfo, which fails.
+    @Test
+    void getAccountsInfo() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity());
 
         restAccountsInfoMockMvc
-            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(accountsInfo)))
-            .andExpect(status().isBadRequest());
-
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeTest);
+            .perform(get(ENTITY_API_URL_ID, accountsInfo.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andExpect(jsonPath("$.id").value(accountsInfo.getId()))
+            .andExpect(jsonPath("$.name").value(DEFAULT_NAME))
+            .andExpect(jsonPath("$.country").value(DEFAULT_COUNTRY.toString()))
+            .andExpect(jsonPath("$.place").value("Beverly Hills"))
+            .andExpect(jsonPath("$.version").value(0))
+            .andExpect(jsonPath("$.securityPin").doesNotExist());
     }
 
     @Test
-    @Transactional
-    void checkCountryIsRequired() throws Exception {
-        int databaseSizeBeforeTest = accountsInfoRepository.findAll().size();
-        // set the field null
-        accountsInfo.setCountry(null);
-
-        // Create the AccountsInfo, which fails.
+    void getUnchangedAccountsInfoIsNotModified() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity());
+        statistics.clear();
 
         restAccountsInfoMockMvc
-            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(accountsInfo)))
-            .andExpect(status().isBadRequest());
+            .perform(get(ENTITY_API_URL_ID, accountsInfo.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
 
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeTest);
+        // the version is read from the second-level cache
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        restAccountsInfoMockMvc
+            .perform(get(ENTITY_API_URL_ID, accountsInfo.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+            .andExpect(status().isOk());
     }
 
     @Test
-    @Transactional
-    void checkPostalCodeIsRequired() throws Exception {
-        int databaseSizeBeforeTest = accountsInfoRepository.findAll().size();
-        // set the field null
-        accountsInfo.setPostalCode(null);
+    void getNonExistingAccountsInfo() throws Exception {
+        restAccountsInfoMockMvc.perform(get(ENTITY_API_URL_ID, "none")).andExpect(status().isNotFound());
+    }
 
-        // Create the AccountsInfo, which fails.
+    @Test
+    void findAccountsInfoByEmailAndId() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity());
 
         restAccountsInfoMockMvc
-            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(accountsInfo)))
-            .andExpect(status().isBadRequest());
-
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeTest);
+            .perform(get("/api/accounts-infos-find").param("email", accountsInfo.getEmail()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andExpect(jsonPath("$.id").value(accountsInfo.getId()));
+        restAccountsInfoMockMvc
+            .perform(get("/api/accounts-infos-find").param("id", accountsInfo.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value(DEFAULT_NAME));
+        restAccountsInfoMockMvc
+            .perform(get("/api/accounts-infos-find").param("email", "none@localhost"))
+            .andExpect(status().isNotFound());
     }
 
     @Test
-    @Transactional
-    void checkStatusIsRequired() throws Exception {
-        int databaseSizeBeforeTest = accountsInfoRepository.findAll().size();
-        // set the field null
-        accountsInfo.setStatus(null);
-
-        // Create the AccountsInfo, which fails.
+    void getAccountsInfosById() throws Exception {
+        AccountsInfo first = save(createEntity());
+        AccountsInfo second = save(createEntity());
+        AccountsInfoIdsVM ids = new AccountsInfoIdsVM();
+        ids.setIds(Arrays.asList(second.getId(), "none", first.getId()));
 
         restAccountsInfoMockMvc
-            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(accountsInfo)))
-            .andExpect(status().isBadRequest());
-
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeTest);
+            .perform(
+                post(ENTITY_API_URL + "/_mget").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(ids))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(Arrays.asList(second.getId(), "none", first.getId())))
+            .andExpect(jsonPath("$.[*].found").value(Arrays.asList(true, false, true)))
+            .andExpect(jsonPath("$.[0].accountsInfo.name").value(DEFAULT_NAME));
     }
 
     @Test
-    @Transactional
     void getAllAccountsInfos() throws Exception {
-        // Initialize the database
-        accountsInfoRepository.saveAndFlush(accountsInfo);
+        AccountsInfo accountsInfo = save(createEntity());
 
-        // Get all the accountsInfoList
         restAccountsInfoMockMvc
-            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .perform(get(ENTITY_API_URL).param("country.equals", DEFAULT_COUNTRY.toString()).param("size", "100"))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.[*].id").value(hasItem(accountsInfo.getId().intValue())))
-            .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)))
-            .andExpect(jsonPath("$.[*].email").value(hasItem(DEFAULT_EMAIL)))
-            .andExpect(jsonPath("$.[*].country").value(hasItem(DEFAULT_COUNTRY)))
-            .andExpect(jsonPath("$.[*].postalCode").value(hasItem(DEFAULT_POSTAL_CODE)))
-            .andExpect(jsonPath("$.[*].age").value(hasItem(DEFAULT_AGE)))
-            .andExpect(jsonPath("$.[*].status").value(hasItem(DEFAULT_STATUS)))
-            .andExpect(jsonPath("$.[*].place").value(hasItem(DEFAULT_PLACE)))
-            .andExpect(jsonPath("$.[*].state").value(hasItem(DEFAULT_STATE)))
-            .andExpect(jsonPath("$.[*].longitude").value(hasItem(DEFAULT_LONGITUDE.doubleValue())))
-            .andExpect(jsonPath("$.[*].latitude").value(hasItem(DEFAULT_LATITUDE.doubleValue())))
-            .andExpect(jsonPath("$.[*].securityPin").value(hasItem(DEFAULT_SECURITY_PIN)));
+            .andExpect(jsonPath("$.[*].id").value(hasItem(accountsInfo.getId())))
+            .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)));
     }
 
     @Test
-    @Transactional
-    void getAccountsInfo() throws Exception {
-        // Initialize the database
-        accountsInfoRepository.saveAndFlush(accountsInfo);
+    void getAllAccountsInfosIsPagedByCursor() throws Exception {
+        save(createEntity());
+        save(createEntity());
 
-        // Get the accountsInfo
         restAccountsInfoMockMvc
-            .perform(get(ENTITY_API_URL_ID, accountsInfo.getId()))
+            .perform(get(ENTITY_API_URL).param("size", "1"))
             .andExpect(status().isOk())
-            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.id").value(accountsInfo.getId().intValue()))
-            .andExpect(jsonPath("$.name").value(DEFAULT_NAME))
-            .andExpect(jsonPath("$.email").value(DEFAULT_EMAIL))
-            .andExpect(jsonPath("$.country").value(DEFAULT_COUNTRY))
-            .andExpect(jsonPath("$.postalCode").value(DEFAULT_POSTAL_CODE))
-            .andExpect(jsonPath("$.age").value(DEFAULT_AGE))
-            .andExpect(jsonPath("$.status").value(DEFAULT_STATUS))
-            .andExpect(jsonPath("$.place").value(DEFAULT_PLACE))
-            .andExpect(jsonPath("$.state").value(DEFAULT_STATE))
-            .andExpect(jsonPath("$.longitude").value(DEFAULT_LONGITUDE.doubleValue()))
-            .andExpect(jsonPath("$.latitude").value(DEFAULT_LATITUDE.doubleValue()))
-            .andExpect(jsonPath("$.securityPin").value(DEFAULT_SECURITY_PIN));
-    }
-
-    @Test
-    @Transactional
-    void getNonExistingAccountsInfo() throws Exception {
-        // Get the accountsInfo
-        restAccountsInfoMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")));
+        restAccountsInfoMockMvc.perform(get(ENTITY_API_URL).param("cursor", "not a cursor!")).andExpect(status().isBadRequest());
     }
 
     @Test
-    @Transactional
-    void putNewAccountsInfo() throws Exception {
-        // Initialize the database
-        accountsInfoRepository.saveAndFlush(accountsInfo);
-
-        int databaseSizeBeforeUpdate = accountsInfoRepository.findAll().size();
-
-        // Update the accountsInfo
-        AccountsInfo updatedAccountsInfo = accountsInfoRepository.findById(accountsInfo.getId()).get();
-        // Disconnect from session so that the updates on updatedAccountsInfo are not directly saved in db
-        em.detach(updatedAccountsInfo);
-        updatedAccountsInfo
-            .name(UPDATED_NAME)
-            .email(UPDATED_EMAIL)
-            //            .country(UPDATED_COUNTRY)
-            .postalCode(UPDATED_POSTAL_CODE)
-            .age(UPDATED_AGE)
-            //            .status(UPDATED_STATUS)
-            .place(UPDATED_PLACE)
-            .state(UPDATED_STATE)
-            .longitude(UPDATED_LONGITUDE)
-            .latitude(UPDATED_LATITUDE)
-            .securityPin(UPDATED_SECURITY_PIN);
+    void updateAccountsInfo() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity());
+        accountsInfo.setName(UPDATED_NAME);
+        statistics.clear();
 
         restAccountsInfoMockMvc
             .perform(
-                put(ENTITY_API_URL_ID, updatedAccountsInfo.getId())
+                put(ENTITY_API_URL_ID, accountsInfo.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
                     .contentType(MediaType.APPLICATION_JSON)
-                    .content(TestUtil.convertObjectToJsonBytes(updatedAccountsInfo))
+                    .content(TestUtil.convertObjectToJsonBytes(accountsInfo))
             )
-            .andExpect(status().isOk());
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
 
-        // Validate the AccountsInfo in the database
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeUpdate);
-        AccountsInfo testAccountsInfo = accountsInfoList.get(accountsInfoList.size() - 1);
-        assertThat(testAccountsInfo.getName()).isEqualTo(UPDATED_NAME);
-        assertThat(testAccountsInfo.getEmail()).isEqualTo(UPDATED_EMAIL);
-        assertThat(testAccountsInfo.getCountry()).isEqualTo(UPDATED_COUNTRY);
-        assertThat(testAccountsInfo.getPostalCode()).isEqualTo(UPDATED_POSTAL_CODE);
-        assertThat(testAccountsInfo.getAge()).isEqualTo(UPDATED_AGE);
-        assertThat(testAccountsInfo.getStatus()).isEqualTo(UPDATED_STATUS);
-        assertThat(testAccountsInfo.getPlace()).isEqualTo(UPDATED_PLACE);
-        assertThat(testAccountsInfo.getState()).isEqualTo(UPDATED_STATE);
-        assertThat(testAccountsInfo.getLongitude()).isEqualTo(UPDATED_LONGITUDE);
-        assertThat(testAccountsInfo.getLatitude()).isEqualTo(UPDATED_LATITUDE);
-        assertThat(testAccountsInfo.getSecurityPin()).isEqualTo(UPDATED_SECURITY_PIN);
-    }
+        // loaded from the second-level cache: the update is the only statement
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
 
-    @Test
-    @Transactional
-    void putNonExistingAccountsInfo() throws Exception {
-        int databaseSizeBeforeUpdate = accountsInfoRepository.findAll().size();
-        accountsInfo.setId(count.incrementAndGet());
+        entityManagerFactory.getCache().evict(AccountsInfo.class, accountsInfo.getId());
+        accountsInfo.setAge(DEFAULT_AGE + 1);
+        statistics.clear();
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
         restAccountsInfoMockMvc
             .perform(
                 put(ENTITY_API_URL_ID, accountsInfo.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"1\"")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(accountsInfo))
             )
-            .andExpect(status().isBadRequest());
-
-        // Validate the AccountsInfo in the database
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeUpdate);
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+
+        // one select and one update
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(accountsInfoRepository.findById(accountsInfo.getId()))
+            .hasValueSatisfying(
+                updated -> {
+                    assertThat(updated.getName()).isEqualTo(UPDATED_NAME);
+                    assertThat(updated.getAge()).isEqualTo(DEFAULT_AGE + 1);
+                    assertThat(updated.getPlace()).isEqualTo("Beverly Hills");
+                }
+            );
     }
 
     @Test
-    @Transactional
-    void putWithIdMismatchAccountsInfo() throws Exception {
-        int databaseSizeBeforeUpdate = accountsInfoRepository.findAll().size();
-        accountsInfo.setId(count.incrementAndGet());
+    void partialUpdateAccountsInfo() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity());
+        AccountsInfo partialUpdatedAccountsInfo = new AccountsInfo().id(accountsInfo.getId()).age(DEFAULT_AGE + 1);
+        statistics.clear();
 
-        // If url ID doesn't match entity ID, it will throw BadRequestAlertException
         restAccountsInfoMockMvc
             .perform(
-                put(ENTITY_API_URL_ID, count.incrementAndGet())
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .content(TestUtil.convertObjectToJsonBytes(accountsInfo))
+                patch(ENTITY_API_URL_ID, accountsInfo.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedAccountsInfo))
             )
-            .andExpect(status().isBadRequest());
-
-        // Validate the AccountsInfo in the database
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeUpdate);
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.age").value(DEFAULT_AGE + 1))
+            .andExpect(jsonPath("$.name").value(DEFAULT_NAME));
+
+        // loaded from the second-level cache, not geocoded again
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(accountsInfoRepository.findById(accountsInfo.getId()))
+            .hasValueSatisfying(
+                updated -> {
+                    assertThat(updated.getAge()).isEqualTo(DEFAULT_AGE + 1);
+                    assertThat(updated.getName()).isEqualTo(DEFAULT_NAME);
+                    assertThat(updated.getEmail()).isEqualTo(accountsInfo.getEmail());
+                    assertThat(updated.getSecurityPin()).isEqualTo(DEFAULT_SECURITY_PIN);
+                }
+            );
     }
 
     @Test
-    @Transactional
-    void putWithMissingIdPathParamAccountsInfo() throws Exception {
-        int databaseSizeBeforeUpdate = accountsInfoRepository.findAll().size();
-        accountsInfo.setId(count.incrementAndGet());
+    void partialUpdateAccountsInfoLocation() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity());
+        // in the embedded gazetteer
+        AccountsInfo partialUpdatedAccountsInfo = new AccountsInfo().id(accountsInfo.getId()).postalCode(10001);
 
-        // If url ID doesn't match entity ID, it will throw BadRequestAlertException
         restAccountsInfoMockMvc
-            .perform(put(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(accountsInfo)))
-            .andExpect(status().isMethodNotAllowed());
-
-        // Validate the AccountsInfo in the database
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeUpdate);
+            .perform(
+                patch(ENTITY_API_URL_ID, accountsInfo.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedAccountsInfo))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.postalCode").value(10001))
+            .andExpect(jsonPath("$.state").value("NY"))
+            .andExpect(jsonPath("$.place").value("New York"));
     }
 
     @Test
-    @Transactional
-    void partialUpdateAccountsInfoWithPatch() throws Exception {
-        // Initialize the database
-        accountsInfoRepository.saveAndFlush(accountsInfo);
+    void partialUpdateAccountsInfoWithStaleETag() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity());
+        AccountsInfo partialUpdatedAccountsInfo = new AccountsInfo().id(accountsInfo.getId()).name(UPDATED_NAME);
 
-        int databaseSizeBeforeUpdate = accountsInfoRepository.findAll().size();
+        restAccountsInfoMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, accountsInfo.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"1\"")
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedAccountsInfo))
+            )
+            .andExpect(status().isPreconditionFailed());
 
-        // Update the accountsInfo using partial update
-        AccountsInfo partialUpdatedAccountsInfo = new AccountsInfo();
-        partialUpdatedAccountsInfo.setId(accountsInfo.getId());
+        assertThat(accountsInfoRepository.findById(accountsInfo.getId()))
+            .hasValueSatisfying(unchanged -> assertThat(unchanged.getName()).isEqualTo(DEFAULT_NAME));
+    }
 
-        partialUpdatedAccountsInfo
-            .email(UPDATED_EMAIL)
-            //            .country(UPDATED_COUNTRY)
-            .postalCode(UPDATED_POSTAL_CODE)
-            //            .status(UPDATED_STATUS)
-            .state(UPDATED_STATE)
-            .latitude(UPDATED_LATITUDE);
+    @Test
+    void partialUpdateAccountsInfoClearsNullFields() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity());
 
         restAccountsInfoMockMvc
             .perform(
-                patch(ENTITY_API_URL_ID, partialUpdatedAccountsInfo.getId())
+                patch(ENTITY_API_URL_ID, accountsInfo.getId())
                     .contentType("application/merge-patch+json")
-                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedAccountsInfo))
+                    .content("{\"id\":\"" + accountsInfo.getId() + "\",\"age\":null}")
             )
-            .andExpect(status().isOk());
-
-        // Validate the AccountsInfo in the database
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeUpdate);
-        AccountsInfo testAccountsInfo = accountsInfoList.get(accountsInfoList.size() - 1);
-        assertThat(testAccountsInfo.getName()).isEqualTo(DEFAULT_NAME);
-        assertThat(testAccountsInfo.getEmail()).isEqualTo(UPDATED_EMAIL);
-        assertThat(testAccountsInfo.getCountry()).isEqualTo(UPDATED_COUNTRY);
-        assertThat(testAccountsInfo.getPostalCode()).isEqualTo(UPDATED_POSTAL_CODE);
-        assertThat(testAccountsInfo.getAge()).isEqualTo(DEFAULT_AGE);
-        assertThat(testAccountsInfo.getStatus()).isEqualTo(UPDATED_STATUS);
-        assertThat(testAccountsInfo.getPlace()).isEqualTo(DEFAULT_PLACE);
-        assertThat(testAccountsInfo.getState()).isEqualTo(UPDATED_STATE);
-        assertThat(testAccountsInfo.getLongitude()).isEqualTo(DEFAULT_LONGITUDE);
-        assertThat(testAccountsInfo.getLatitude()).isEqualTo(UPDATED_LATITUDE);
-        assertThat(testAccountsInfo.getSecurityPin()).isEqualTo(DEFAULT_SECURITY_PIN);
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.age").doesNotExist())
+            .andExpect(jsonPath("$.name").value(DEFAULT_NAME));
+
+        assertThat(accountsInfoRepository.findById(accountsInfo.getId()))
+            .hasValueSatisfying(
+                updated -> {
+                    assertThat(updated.getAge()).isNull();
+                    assertThat(updated.getSecurityPin()).isEqualTo(DEFAULT_SECURITY_PIN);
+                }
+            );
     }
 
     @Test
-    @Transactional
-    void fullUpdateAccountsInfoWithPatch() throws Exception {
-        // Initialize the database
-        accountsInfoRepository.saveAndFlush(accountsInfo);
-
-        int databaseSizeBeforeUpdate = accountsInfoRepository.findAll().size();
-
-        // Update the accountsInfo using partial update
-        AccountsInfo partialUpdatedAccountsInfo = new AccountsInfo();
-        partialUpdatedAccountsInfo.setId(accountsInfo.getId());
-
-        partialUpdatedAccountsInfo
-            .name(UPDATED_NAME)
-            .email(UPDATED_EMAIL)
-            //            .country(UPDATED_COUNTRY)
-            .postalCode(UPDATED_POSTAL_CODE)
-            .age(UPDATED_AGE)
-            //            .status(UPDATED_STATUS)
-            .place(UPDATED_PLACE)
-            .state(UPDATED_STATE)
-            .longitude(UPDATED_LONGITUDE)
-            .latitude(UPDATED_LATITUDE)
-            .securityPin(UPDATED_SECURITY_PIN);
+    void partialUpdateAccountsInfoWithInvalidValueIsBadRequest() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity());
 
         restAccountsInfoMockMvc
             .perform(
-                patch(ENTITY_API_URL_ID, partialUpdatedAccountsInfo.getId())
+                patch(ENTITY_API_URL_ID, accountsInfo.getId())
                     .contentType("application/merge-patch+json")
-                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedAccountsInfo))
+                    .content("{\"id\":\"" + accountsInfo.getId() + "\",\"name\":null}")
             )
-            .andExpect(status().isOk());
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.validation"));
 
-        // Validate the AccountsInfo in the database
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeUpdate);
-        AccountsInfo testAccountsInfo = accountsInfoList.get(accountsInfoList.size() - 1);
-        assertThat(testAccountsInfo.getName()).isEqualTo(UPDATED_NAME);
-        assertThat(testAccountsInfo.getEmail()).isEqualTo(UPDATED_EMAIL);
-        assertThat(testAccountsInfo.getCountry()).isEqualTo(UPDATED_COUNTRY);
-        assertThat(testAccountsInfo.getPostalCode()).isEqualTo(UPDATED_POSTAL_CODE);
-        assertThat(testAccountsInfo.getAge()).isEqualTo(UPDATED_AGE);
-        assertThat(testAccountsInfo.getStatus()).isEqualTo(UPDATED_STATUS);
-        assertThat(testAccountsInfo.getPlace()).isEqualTo(UPDATED_PLACE);
-        assertThat(testAccountsInfo.getState()).isEqualTo(UPDATED_STATE);
-        assertThat(testAccountsInfo.getLongitude()).isEqualTo(UPDATED_LONGITUDE);
-        assertThat(testAccountsInfo.getLatitude()).isEqualTo(UPDATED_LATITUDE);
-        assertThat(testAccountsInfo.getSecurityPin()).isEqualTo(UPDATED_SECURITY_PIN);
+        assertThat(accountsInfoRepository.findById(accountsInfo.getId()))
+            .hasValueSatisfying(unchanged -> assertThat(unchanged.getName()).isEqualTo(DEFAULT_NAME));
     }
 
     @Test
-    @Transactional
-    void patchNonExistingAccountsInfo() throws Exception {
-        int databaseSizeBeforeUpdate = accountsInfoRepository.findAll().size();
-        accountsInfo.setId(count.incrementAndGet());
+    void updateAccountsInfoLeavesStatusUnchanged() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity());
+        accountsInfo.setStatus(AccountsInfo.Status.INACTIVE);
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        restAccountsInfoMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, accountsInfo.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(accountsInfo))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value(AccountsInfo.Status.ACTIVE.toString()));
         restAccountsInfoMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, accountsInfo.getId())
                     .contentType("application/merge-patch+json")
+                    .content("{\"id\":\"" + accountsInfo.getId() + "\",\"status\":\"INACTIVE\"}")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value(AccountsInfo.Status.ACTIVE.toString()));
+
+        assertThat(accountsInfoRepository.findById(accountsInfo.getId()))
+            .hasValueSatisfying(unchanged -> assertThat(unchanged.getStatus()).isEqualTo(AccountsInfo.Status.ACTIVE));
+    }
+
+    @Test
+    void updateAccountsInfoWithStaleVersionIsConflict() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity());
+        accountsInfo.setName(UPDATED_NAME);
+        restAccountsInfoMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, accountsInfo.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(accountsInfo))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isOk());
+
+        // a second client, which read the same version 0
+        accountsInfo.setAge(DEFAULT_AGE + 1);
+        restAccountsInfoMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, accountsInfo.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(accountsInfo))
+            )
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value(ErrorConstants.ERR_CONCURRENCY_FAILURE));
 
-        // Validate the AccountsInfo in the database
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeUpdate);
+        assertThat(accountsInfoRepository.findById(accountsInfo.getId()))
+            .hasValueSatisfying(unchanged -> assertThat(unchanged.getAge()).isEqualTo(DEFAULT_AGE));
     }
 
     @Test
-    @Transactional
-    void patchWithIdMismatchAccountsInfo() throws Exception {
-        int databaseSizeBeforeUpdate = accountsInfoRepository.findAll().size();
-        accountsInfo.setId(count.incrementAndGet());
+    void updateInactiveAccountsInfoIsRejected() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity().status(AccountsInfo.Status.INACTIVE));
+        accountsInfo.setName(UPDATED_NAME);
 
-        // If url ID doesn't match entity ID, it will throw BadRequestAlertException
         restAccountsInfoMockMvc
             .perform(
-                patch(ENTITY_API_URL_ID, count.incrementAndGet())
-                    .contentType("application/merge-patch+json")
+                put(ENTITY_API_URL_ID, accountsInfo.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
                     .content(TestUtil.convertObjectToJsonBytes(accountsInfo))
             )
             .andExpect(status().isBadRequest());
-
-        // Validate the AccountsInfo in the database
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeUpdate);
     }
 
     @Test
-    @Transactional
-    void patchWithMissingIdPathParamAccountsInfo() throws Exception {
-        int databaseSizeBeforeUpdate = accountsInfoRepository.findAll().size();
-        accountsInfo.setId(count.incrementAndGet());
+    void updateAccountsInfoWithStaleETag() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity());
+        accountsInfo.setName(UPDATED_NAME);
 
-        // If url ID doesn't match entity ID, it will throw BadRequestAlertException
         restAccountsInfoMockMvc
             .perform(
-                patch(ENTITY_API_URL).contentType("application/merge-patch+json").content(TestUtil.convertObjectToJsonBytes(accountsInfo))
+                put(ENTITY_API_URL_ID, accountsInfo.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"1\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(accountsInfo))
             )
-            .andExpect(status().isMethodNotAllowed());
+            .andExpect(status().isPreconditionFailed());
 
-        // Validate the AccountsInfo in the database
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeUpdate);
+        assertThat(accountsInfoRepository.findById(accountsInfo.getId()))
+            .hasValueSatisfying(unchanged -> assertThat(unchanged.getName()).isEqualTo(DEFAULT_NAME));
     }
 
     @Test
-    @Transactional
-    void deleteAccountsInfo() throws Exception {
-        // Initialize the database
-        accountsInfoRepository.saveAndFlush(accountsInfo);
+    void changeAccountsInfoStatus() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity());
+        String transition = "{\"expected\":\"ACTIVE\",\"status\":\"INACTIVE\"}";
+        statistics.clear();
+
+        restAccountsInfoMockMvc
+            .perform(put(ENTITY_API_URL_ID + "/status", accountsInfo.getId()).contentType(MediaType.APPLICATION_JSON).content(transition))
+            .andExpect(status().isNoContent());
 
-        int databaseSizeBeforeDelete = accountsInfoRepository.findAll().size();
+        // the conditional update is the only statement
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        restAccountsInfoMockMvc
+            .perform(get(ENTITY_API_URL_ID, accountsInfo.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.status").value(AccountsInfo.Status.INACTIVE.toString()));
 
-        // Delete the accountsInfo
+        // already changed
         restAccountsInfoMockMvc
-            .perform(delete(ENTITY_API_URL_ID, accountsInfo.getId()).accept(MediaType.APPLICATION_JSON))
+            .perform(put(ENTITY_API_URL_ID + "/status", accountsInfo.getId()).contentType(MediaType.APPLICATION_JSON).content(transition))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    void changeAccountsInfoStatusIsRejected() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity());
+
+        restAccountsInfoMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID + "/status", accountsInfo.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"expected\":\"ACTIVE\",\"status\":\"REQUESTED\"}")
+            )
+            .andExpect(status().isBadRequest());
+        restAccountsInfoMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID + "/status", "zzzzzz")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"expected\":\"ACTIVE\",\"status\":\"INACTIVE\"}")
+            )
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deactivateAccountsInfosOfAState() throws Exception {
+        List<String> deactivated = Arrays.asList(saveIn("ZY", createEntity()).getId(), saveIn("ZY", createEntity()).getId());
+        String inactive = saveIn("ZY", createEntity().status(AccountsInfo.Status.INACTIVE)).getId();
+        String elsewhere = save(createEntity()).getId();
+        statistics.clear();
+
+        restAccountsInfoMockMvc
+            .perform(post(ENTITY_API_URL + "/_deactivate").param("country", "US").param("state", "ZY"))
+            .andExpect(status().isOk())
+            .andExpect(content().string("2"));
+
+        // one set-based update and the select of the ids to evict, no entity loaded
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        // only the accounts of the state are evicted from the second-level cache
+        assertThat(deactivated).noneMatch(id -> entityManagerFactory.getCache().contains(AccountsInfo.class, id));
+        assertThat(entityManagerFactory.getCache().contains(AccountsInfo.class, elsewhere)).isTrue();
+        assertThat(accountsInfoRepository.findAllById(deactivated))
+            .extracting(AccountsInfo::getStatus)
+            .containsOnly(AccountsInfo.Status.INACTIVE);
+        assertThat(accountsInfoRepository.findById(inactive)).hasValueSatisfying(account -> assertThat(account.getVersion()).isZero());
+        assertThat(accountsInfoRepository.findById(elsewhere))
+            .hasValueSatisfying(account -> assertThat(account.getStatus()).isEqualTo(AccountsInfo.Status.ACTIVE));
+    }
+
+    @Test
+    void deleteInactiveAccountsInfo() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity().status(AccountsInfo.Status.INACTIVE));
+        String other = save(createEntity()).getId();
+        statistics.clear();
+
+        restAccountsInfoMockMvc
+            .perform(delete(ENTITY_API_URL_ID, accountsInfo.getId()).param("pin", DEFAULT_SECURITY_PIN.toString()))
             .andExpect(status().isNoContent());
 
-        // Validate the database contains one less item
-        List<AccountsInfo> accountsInfoList = accountsInfoRepository.findAll();
-        assertThat(accountsInfoList).hasSize(databaseSizeBeforeDelete - 1);
+        // the conditional delete is the only statement, and only the deleted account is evicted
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(entityManagerFactory.getCache().contains(AccountsInfo.class, accountsInfo.getId())).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(AccountsInfo.class, other)).isTrue();
+        assertThat(accountsInfoRepository.existsById(accountsInfo.getId())).isFalse();
+        restAccountsInfoMockMvc
+            .perform(get(ENTITY_API_URL + "-find").param("email", accountsInfo.getEmail()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteInactiveAccountsInfoWithWrongPinIsRejected() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity().status(AccountsInfo.Status.INACTIVE));
+
+        restAccountsInfoMockMvc
+            .perform(delete(ENTITY_API_URL_ID, accountsInfo.getId()).param("pin", String.valueOf(DEFAULT_SECURITY_PIN + 1)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(accountsInfoRepository.existsById(accountsInfo.getId())).isTrue();
+    }
+
+    @Test
+    void deleteNonExistingAccountsInfo() throws Exception {
+        restAccountsInfoMockMvc
+            .perform(delete(ENTITY_API_URL_ID, "zzzzzz").param("pin", DEFAULT_SECURITY_PIN.toString()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deleteActiveAccountsInfoIsRejected() throws Exception {
+        AccountsInfo accountsInfo = save(createEntity());
+
+        restAccountsInfoMockMvc
+            .perform(delete(ENTITY_API_URL_ID, accountsInfo.getId()).param("pin", DEFAULT_SECURITY_PIN.toString()))
+            .andExpect(status().isBadRequest());
+
+        assertThat(accountsInfoRepository.existsById(accountsInfo.getId())).isTrue();
+    }
+
+    private AccountsInfo save(AccountsInfo accountsInfo) {
+        AccountsInfo result = accountsInfoRepository.saveAndFlush(accountsInfo.state("CA").place("Beverly Hills"));
+        createdIds.add(result.getId());
+        return result;
+    }
+
+    private AccountsInfo saveIn(String state, AccountsInfo accountsInfo) {
+        AccountsInfo result = accountsInfoRepository.saveAndFlush(accountsInfo.state(state).place("Nowhere"));
+        createdIds.add(result.getId());
+        return result;
+    }
+
+    private static String idOf(MvcResult result) {
+        String location = result.getResponse().getHeader(HttpHeaders.LOCATION);
+        return location.substring(location.lastIndexOf('/') + 1);
     }
 }
-*/
@@ -0,0 +1,45 @@
+package com.rogers.accountmanager.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Unit tests for {@link KeysetPaginationUtil}.
+ */
+class KeysetPaginationUtilTest {
+
+    @Test
+    void cursorRoundTrip() {
+        String cursor = KeysetPaginationUtil.encodeCursor("a1b2c3");
+
+        assertThat(cursor).doesNotContain("a1b2c3").matches("[A-Za-z0-9_-]+");
+        assertThat(KeysetPaginationUtil.decodeCursor(cursor)).contains("a1b2c3");
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        assertThat(KeysetPaginationUtil.decodeCursor("not a cursor!")).isEmpty();
+        assertThat(KeysetPaginationUtil.decodeCursor("")).isEmpty();
+    }
+
+    @Test
+    void generateNextLinkHeader() {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString("/api/accounts-infos?cursor=old&size=5");
+
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(uriBuilder, "bmV4dA", 10);
+
+        assertThat(headers.get(HttpHeaders.LINK)).containsExactly("</api/accounts-infos?cursor=bmV4dA&size=10>; rel=\"next\"");
+    }
+
+    @Test
+    void lastPageHasNoLinkHeader() {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString("/api/accounts-infos");
+
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(uriBuilder, null, 10);
+
+        assertThat(headers.containsKey(HttpHeaders.LINK)).isFalse();
+    }
+}